@@ -0,0 +1,202 @@
+package com.ocean.store.benchmark;
+
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.config.CacheConfiguration;
+import com.ocean.store.config.SecurityJwtConfiguration;
+import com.ocean.store.domain.Authority;
+import com.ocean.store.domain.User;
+import com.ocean.store.management.SecurityMetersService;
+import com.ocean.store.repository.UserRepository;
+import com.ocean.store.security.AuthoritiesConstants;
+import com.ocean.store.security.CachingJwtDecoder;
+import com.ocean.store.security.DomainUserDetailsService;
+import com.ocean.store.security.DomainUserDetailsService.UserWithId;
+import com.ocean.store.web.rest.AuthenticateController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Micro-benchmarks of the authentication hot path: token creation, token validation,
+ * user lookup and password verification.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec@jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthenticationBenchmark {
+
+    private static final String JWT_SECRET =
+        "MTkwMGM0NDY3ZDE3NDU3MDcwOGM4NzM1ODg4OTQ1ZDVjODZkZWVjODNkZjZhOWE2ZGMyMGFlZmQ5OTY3ZWJkNmQ1Mjk4ZDgzODIzZWE2MjQ2YTQ5N2ZiZTMxMTJmYmM1NDQ0MjgzYmE0ZTM3NDdiOWE4MTEyNmVmZmE3ZjUzM2I=";
+
+    private static final String LOGIN = "benchmark";
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private AuthenticateController authenticateController;
+
+    private Authentication authentication;
+
+    private CacheManager cacheManager;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private String token;
+
+    private String expiredToken;
+
+    private DomainUserDetailsService userDetailsService;
+
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", JWT_SECRET);
+        JwtEncoder jwtEncoder = securityJwtConfiguration.jwtEncoder();
+        jwtDecoder = securityJwtConfiguration.verifyingJwtDecoder(securityMetersService);
+        cacheManager = Caching.getCachingProvider().getCacheManager();
+        new CacheConfiguration(new JHipsterProperties(), new ApplicationProperties()).cacheManagerCustomizer().customize(cacheManager);
+        cachingJwtDecoder = new CachingJwtDecoder(
+            jwtDecoder,
+            cacheManager.getCache(CachingJwtDecoder.VERIFIED_TOKENS_CACHE),
+            securityMetersService
+        );
+
+        authenticateController = new AuthenticateController(jwtEncoder, null, null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86400L);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSecondsForRememberMe", 2592000L);
+
+        passwordEncoder = new BCryptPasswordEncoder();
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        User user = createUser(encodedPassword);
+        userDetailsService = new DomainUserDetailsService(stubUserRepository(user), new JCacheCacheManager(cacheManager));
+
+        UserWithId principal = UserWithId.fromUser(user);
+        authentication = new UsernamePasswordAuthenticationToken(principal, PASSWORD, principal.getAuthorities());
+        token = authenticateController.createToken(authentication, false);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", -3600L);
+        expiredToken = authenticateController.createToken(authentication, false);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86400L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return authenticateController.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCachedToken() {
+        return cachingJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Object rejectExpiredToken() {
+        try {
+            return jwtDecoder.decode(expiredToken);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public UserDetails loadUserByLogin() {
+        return userDetailsService.loadUserByUsername(LOGIN);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByEmail() {
+        return userDetailsService.loadUserByUsername(LOGIN + "@localhost");
+    }
+
+    @Benchmark
+    public Object loadUnknownUser() {
+        try {
+            return userDetailsService.loadUserByUsername("unknown");
+        } catch (UsernameNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean matchPassword() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    private static User createUser(String encodedPassword) {
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        User user = new User();
+        user.setId(1L);
+        user.setLogin(LOGIN);
+        user.setEmail(LOGIN + "@localhost");
+        user.setPassword(encodedPassword);
+        user.setActivated(true);
+        user.setAuthorities(Set.of(authority));
+        return user;
+    }
+
+    /**
+     * A {@link UserRepository} answering the two lookups used during authentication, without any database or mocking framework overhead.
+     */
+    private static UserRepository stubUserRepository(User user) {
+        InvocationHandler handler = (proxy, method, args) ->
+            switch (method.getName()) {
+                case "findOneWithAuthoritiesByLogin" -> Optional.of(user).filter(u -> u.getLogin().equals(args[0]));
+                case "findOneWithAuthoritiesByEmailIgnoreCase" -> Optional.of(user).filter(u ->
+                    u.getEmail().equalsIgnoreCase((String) args[0])
+                );
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "StubUserRepository";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        return (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] { UserRepository.class },
+            handler
+        );
+    }
+}
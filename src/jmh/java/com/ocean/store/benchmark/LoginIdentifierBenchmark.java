@@ -0,0 +1,37 @@
+package com.ocean.store.benchmark;
+
+import com.ocean.store.security.LoginIdentifierClassifier;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Micro-benchmarks of the login identifier classification done on each login: the {@link LoginIdentifierClassifier}
+ * against the {@link EmailValidator} created for each call it replaces.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec@jmh -Djmh.args=LoginIdentifierBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoginIdentifierBenchmark {
+
+    @Param({ "admin", "john.doe+store@example.com", "admin' OR '1'='1" })
+    private String identifier;
+
+    @Benchmark
+    public boolean emailValidator() {
+        return new EmailValidator().isValid(identifier, null);
+    }
+
+    @Benchmark
+    public LoginIdentifierClassifier.Kind classifier() {
+        return LoginIdentifierClassifier.classify(identifier);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ocean.store.benchmark;
+
+import com.ocean.store.domain.User;
+import com.ocean.store.service.MailTemplateRenderer;
+import com.ocean.store.service.MailUserView;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Micro-benchmarks of the rendering of the emails sent to users: the {@link MailTemplateRenderer} against processing the
+ * template and resolving the subject for each email, with the user entity bound, as it replaces.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec@jmh -Djmh.args=MailTemplateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MailTemplateBenchmark {
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    @Param({ "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail" })
+    private String templateName;
+
+    @Param({ "en", "ar-ly" })
+    private String langKey;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MessageSource messageSource;
+
+    private MailTemplateRenderer renderer;
+
+    private Locale locale;
+
+    private User user;
+
+    private MailUserView userView;
+
+    @Setup
+    public void setup() {
+        // Configured like the auto-configured engine, with the template cache enabled as in production
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasename("i18n/messages");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        resourceBundleMessageSource.setFallbackToSystemLocale(false);
+        messageSource = resourceBundleMessageSource;
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl(BASE_URL);
+        renderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, new ThymeleafProperties());
+
+        locale = Locale.forLanguageTag(langKey);
+        user = new User();
+        user.setLogin("benchmark");
+        user.setEmail("benchmark@localhost");
+        user.setLangKey(langKey);
+        user.setActivationKey("Qc7fE2zTg9bL4pWx1mNs");
+        user.setResetKey("Hk3vR8yDq5jM2tBn6wCz");
+        userView = MailUserView.of(user);
+    }
+
+    @Benchmark
+    public String processTemplate() {
+        Context context = new Context(locale);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", BASE_URL);
+        String subject = messageSource.getMessage("email.activation.title", null, locale);
+        return subject + templateEngine.process(templateName, context);
+    }
+
+    @Benchmark
+    public String renderer() {
+        return renderer.renderSubject("email.activation.title", locale) + renderer.renderContent(templateName, locale, userView);
+    }
+}
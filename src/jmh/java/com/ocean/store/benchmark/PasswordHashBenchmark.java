@@ -0,0 +1,50 @@
+package com.ocean.store.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Calibration of {@code application.security.password-hash.strength}: the time BCrypt takes to hash a password at each
+ * strength. Each increment of the strength doubles it; pick the highest strength whose time fits the login latency
+ * budget, about 100 ms.
+ * <p>
+ * Run it on hardware like the production one with
+ * {@code ./mvnw -Pjmh test-compile exec:exec@jmh -Djmh.args=PasswordHashBenchmark}, or for other strengths with
+ * {@code -Djmh.args="-p strength=12,13 PasswordHashBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "calibration-password";
+
+    @Param({ "10", "11", "12", "13", "14" })
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(strength);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+}
@@ -36,4 +36,19 @@ file_env 'SPRING_LIQUIBASE_USER'
 file_env 'SPRING_LIQUIBASE_PASSWORD'
 file_env 'JHIPSTER_REGISTRY_PASSWORD'
 
-exec java ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -Djava.security.egd=file:/dev/./urandom -cp /app/resources/:/app/classes/:/app/libs/* "com.ocean.store.OceanStoreApp"  "$@"
+# Set in images built with the "aot" Maven profile: use the initialization code generated by Spring AOT
+if [[ "${SPRING_AOT_ENABLED}" == "true" ]]; then
+    JAVA_OPTS="${JAVA_OPTS} -Dspring.aot.enabled=true"
+fi
+
+# Set to a path on a volume kept across containers, in images built with the "aot" Maven profile: share the classes
+# loaded by a previous run from a CDS archive, or create the archive when this run exits
+if [[ -n "${CDS_ARCHIVE}" ]]; then
+    if [[ -f "${CDS_ARCHIVE}" ]]; then
+        JAVA_OPTS="${JAVA_OPTS} -XX:SharedArchiveFile=${CDS_ARCHIVE}"
+    else
+        JAVA_OPTS="${JAVA_OPTS} -XX:ArchiveClassesAtExit=${CDS_ARCHIVE}"
+    fi
+fi
+
+exec java ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -Djava.security.egd=file:/dev/./urandom -cp "$(cat /app/jib-classpath-file)" "com.ocean.store.OceanStoreApp"  "$@"
@@ -0,0 +1,113 @@
+package com.ocean.store.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Predicate;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Fails the startup of an application built with the {@code aot} Maven profile when a {@code @ConditionalOnProperty}
+ * of this application would not have the outcome it had at build time.
+ * <p>
+ * The AOT processing evaluates these conditions once, with the profiles and properties of the build, and the generated
+ * initialization code registers the beans they matched, whatever the runtime properties are. The build records the
+ * outcomes, and the application compares them with the runtime properties before the context is refreshed:
+ * <ul>
+ *     <li>{@code application.datasource.replicas[0].url}, for the {@link ReplicaDataSourceConfiguration},</li>
+ *     <li>{@code application.cache.disk-directory}, for the cache manager of the {@link CacheConfiguration},</li>
+ *     <li>{@code spring.main.lazy-initialization}, for the {@link LazyInitializationConfiguration}.</li>
+ * </ul>
+ * Registered in {@code META-INF/spring/aot.factories} and {@code META-INF/spring.factories}.
+ */
+public class AotPropertyConditions
+    implements BeanFactoryInitializationAotProcessor, ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    static final String OUTCOMES_LOCATION = "META-INF/ocean-store/aot-property-conditions.properties";
+
+    private static final Map<String, Predicate<String>> CONDITIONS = new LinkedHashMap<>();
+
+    static {
+        CONDITIONS.put("application.datasource.replicas[0].url", AotPropertyConditions::isSet);
+        CONDITIONS.put("application.cache.disk-directory", AotPropertyConditions::isSet);
+        CONDITIONS.put("spring.main.lazy-initialization", "true"::equalsIgnoreCase);
+    }
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Properties outcomes = outcomes(beanFactory.getBean(Environment.class));
+        return (generationContext, beanFactoryInitializationCode) ->
+            generationContext.getGeneratedFiles().addResourceFile(OUTCOMES_LOCATION, store(outcomes));
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        if (AotDetector.useGeneratedArtifacts()) {
+            verify(load(context.getClassLoader()), context.getEnvironment());
+        }
+    }
+
+    static void verify(Properties buildOutcomes, Environment environment) {
+        Properties outcomes = outcomes(environment);
+        for (String property : CONDITIONS.keySet()) {
+            String buildOutcome = buildOutcomes.getProperty(property);
+            if (!outcomes.getProperty(property).equals(buildOutcome)) {
+                throw new IllegalStateException(
+                    "The condition on property '" +
+                    property +
+                    "' matches " +
+                    outcomes.getProperty(property) +
+                    " at runtime, but matched " +
+                    buildOutcome +
+                    " when the application was built with the aot Maven profile: " +
+                    "rebuild it with the profiles and properties it runs with, or run it without -Dspring.aot.enabled=true"
+                );
+            }
+        }
+    }
+
+    static Properties outcomes(Environment environment) {
+        Properties outcomes = new Properties();
+        CONDITIONS.forEach((property, condition) -> {
+            String value = environment.getProperty(property);
+            outcomes.setProperty(property, String.valueOf(value != null && condition.test(value)));
+        });
+        return outcomes;
+    }
+
+    private static boolean isSet(String value) {
+        // As @ConditionalOnProperty without havingValue
+        return !"false".equalsIgnoreCase(value);
+    }
+
+    private static String store(Properties outcomes) {
+        StringWriter writer = new StringWriter();
+        try {
+            outcomes.store(writer, "Outcomes of the property conditions at build time");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private static Properties load(ClassLoader classLoader) {
+        Properties outcomes = new Properties();
+        try (InputStream inputStream = new ClassPathResource(OUTCOMES_LOCATION, classLoader).getInputStream()) {
+            outcomes.load(inputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + OUTCOMES_LOCATION + ", generated by the AOT processing", e);
+        }
+        return outcomes;
+    }
+}
@@ -1,6 +1,12 @@
 package com.ocean.store.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Ocean Store.
@@ -13,12 +19,60 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final UserExport userExport = new UserExport();
+
+    private final UserImport userImport = new UserImport();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final Datasource datasource = new Datasource();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final Async async = new Async();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public UserExport getUserExport() {
+        return userExport;
+    }
+
+    public UserImport getUserImport() {
+        return userImport;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +87,541 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final PasswordHash passwordHash = new PasswordHash();
+
+        private final LoginVerification loginVerification = new LoginVerification();
+
+        private final UnknownUsersCache unknownUsersCache = new UnknownUsersCache();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public PasswordHash getPasswordHash() {
+            return passwordHash;
+        }
+
+        public LoginVerification getLoginVerification() {
+            return loginVerification;
+        }
+
+        public UnknownUsersCache getUnknownUsersCache() {
+            return unknownUsersCache;
+        }
+
+        public static class TokenCache {
+
+            private long maxEntries = 10000;
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+
+        public static class PasswordHash {
+
+            private int strength = 10;
+
+            public int getStrength() {
+                return strength;
+            }
+
+            public void setStrength(int strength) {
+                this.strength = strength;
+            }
+        }
+
+        public static class LoginVerification {
+
+            private int poolSize = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 100;
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+
+        public static class UnknownUsersCache {
+
+            private long maxEntries = 10000;
+
+            private Duration timeToLive = Duration.ofMinutes(10);
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        private String diskDirectory;
+
+        private final Map<String, CacheSettings> caches = new HashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final Warmup warmup = new Warmup();
+
+        public String getDiskDirectory() {
+            return diskDirectory;
+        }
+
+        public void setDiskDirectory(String diskDirectory) {
+            this.diskDirectory = diskDirectory;
+        }
+
+        public Map<String, CacheSettings> getCaches() {
+            return caches;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public Warmup getWarmup() {
+            return warmup;
+        }
+
+        public static class Warmup {
+
+            private boolean enabled = true;
+
+            private int users = 1000;
+
+            private int batchSize = 500;
+
+            private int hotPathIterations = 0;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getUsers() {
+                return users;
+            }
+
+            public void setUsers(int users) {
+                this.users = users;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getHotPathIterations() {
+                return hotPathIterations;
+            }
+
+            public void setHotPathIterations(int hotPathIterations) {
+                this.hotPathIterations = hotPathIterations;
+            }
+        }
+
+        public static class Invalidation {
+
+            private boolean enabled = true;
+
+            private String channel = "cache_invalidation";
+
+            private Duration reconnectDelay = Duration.ofSeconds(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public Duration getReconnectDelay() {
+                return reconnectDelay;
+            }
+
+            public void setReconnectDelay(Duration reconnectDelay) {
+                this.reconnectDelay = reconnectDelay;
+            }
+        }
+
+        /**
+         * Sizing of one cache. Unset values fall back to the {@code jhipster.cache.ehcache} ones.
+         */
+        public static class CacheSettings {
+
+            private Long heapEntries;
+
+            private DataSize heapSize;
+
+            private DataSize offHeapSize;
+
+            private DataSize diskSize;
+
+            private Duration timeToLive;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    public static class UserExport {
+
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class UserImport {
+
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class UserPurge {
+
+        private int chunkSize = 500;
+
+        private Duration pause = Duration.ofMillis(100);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getPause() {
+            return pause;
+        }
+
+        public void setPause(Duration pause) {
+            this.pause = pause;
+        }
+    }
+
+    public static class Datasource {
+
+        private final List<Replica> replicas = new ArrayList<>();
+
+        private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+        private Duration replicaCheckInterval = Duration.ofSeconds(5);
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public Duration getMaxReplicaLag() {
+            return maxReplicaLag;
+        }
+
+        public void setMaxReplicaLag(Duration maxReplicaLag) {
+            this.maxReplicaLag = maxReplicaLag;
+        }
+
+        public Duration getReplicaCheckInterval() {
+            return replicaCheckInterval;
+        }
+
+        public void setReplicaCheckInterval(Duration replicaCheckInterval) {
+            this.replicaCheckInterval = replicaCheckInterval;
+        }
+
+        /**
+         * Connection to one read replica. Unset credentials fall back to the {@code spring.datasource} ones.
+         */
+        public static class Replica {
+
+            private String name;
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class MailOutbox {
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        private int batchSize = 50;
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(10);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private Duration lease = Duration.ofMinutes(5);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    public static class Async {
+
+        private final Executor passwordUpgrade = new Executor(1, 2, 100, SaturationPolicy.DISCARD);
+
+        public Executor getPasswordUpgrade() {
+            return passwordUpgrade;
+        }
+
+        /**
+         * What an executor does with a task once its threads are all busy and its queue is full.
+         */
+        public enum SaturationPolicy {
+            /**
+             * Run the task on the thread submitting it.
+             */
+            CALLER_RUNS,
+            /**
+             * Reject the task with a {@link org.springframework.core.task.TaskRejectedException}.
+             */
+            ABORT,
+            /**
+             * Drop the task.
+             */
+            DISCARD,
+        }
+
+        public static class Executor {
+
+            private int coreSize;
+
+            private int maxSize;
+
+            private int queueCapacity;
+
+            private Duration keepAlive = Duration.ofSeconds(60);
+
+            private SaturationPolicy saturationPolicy;
+
+            public Executor(int coreSize, int maxSize, int queueCapacity, SaturationPolicy saturationPolicy) {
+                this.coreSize = coreSize;
+                this.maxSize = maxSize;
+                this.queueCapacity = queueCapacity;
+                this.saturationPolicy = saturationPolicy;
+            }
+
+            public int getCoreSize() {
+                return coreSize;
+            }
+
+            public void setCoreSize(int coreSize) {
+                this.coreSize = coreSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Duration getKeepAlive() {
+                return keepAlive;
+            }
+
+            public void setKeepAlive(Duration keepAlive) {
+                this.keepAlive = keepAlive;
+            }
+
+            public SaturationPolicy getSaturationPolicy() {
+                return saturationPolicy;
+            }
+
+            public void setSaturationPolicy(SaturationPolicy saturationPolicy) {
+                this.saturationPolicy = saturationPolicy;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,20 +1,34 @@
 package com.ocean.store.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
+/**
+ * Asynchronous executors and schedulers, one per kind of work so that they do not wait for each other.
+ * <p>
+ * {@code @Async} methods run on the {@value #TASK_EXECUTOR} executor, unless they name another one:
+ * {@value #PASSWORD_UPGRADE_EXECUTOR} for re-hashing passwords on login. {@code @Scheduled} methods run on the
+ * {@value #TASK_SCHEDULER} scheduler, unless they name another one: {@value #MAIL_SCHEDULER} for sending the mail
+ * outbox, so that a slow SMTP server does not delay the other jobs.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
@@ -23,22 +37,101 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConfiguration.class);
 
+    public static final String TASK_EXECUTOR = "taskExecutor";
+
+    public static final String PASSWORD_UPGRADE_EXECUTOR = "passwordUpgradeExecutor";
+
+    public static final String TASK_SCHEDULER = "taskScheduler";
+
+    public static final String MAIL_SCHEDULER = "mailScheduler";
+
+    private static final String MAIL_THREAD_NAME_PREFIX = "ocean-store-mail-";
+
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Environment env;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Environment env
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        this.env = env;
     }
 
     @Override
-    @Bean(name = "taskExecutor")
+    @Bean(name = TASK_EXECUTOR)
     public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(env)) {
+            LOG.debug("Creating Async Task Executor on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            Integer concurrencyLimit = taskExecutionProperties.getSimple().getConcurrencyLimit();
+            if (concurrencyLimit != null) {
+                executor.setConcurrencyLimit(concurrencyLimit);
+            }
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
         LOG.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        TaskExecutionProperties.Pool pool = taskExecutionProperties.getPool();
+        ApplicationProperties.Async.Executor settings = new ApplicationProperties.Async.Executor(
+            pool.getCoreSize(),
+            pool.getMaxSize(),
+            pool.getQueueCapacity(),
+            ApplicationProperties.Async.SaturationPolicy.ABORT
+        );
+        settings.setKeepAlive(pool.getKeepAlive());
+        return new ExceptionHandlingAsyncTaskExecutor(
+            new BulkheadTaskExecutor(TASK_EXECUTOR, taskExecutionProperties.getThreadNamePrefix(), settings, meterRegistry)
+        );
+    }
+
+    @Bean(name = PASSWORD_UPGRADE_EXECUTOR)
+    public Executor passwordUpgradeExecutor() {
+        LOG.debug("Creating Password Upgrade Task Executor");
+        return new ExceptionHandlingAsyncTaskExecutor(
+            new BulkheadTaskExecutor(
+                PASSWORD_UPGRADE_EXECUTOR,
+                "ocean-store-password-upgrade-",
+                applicationProperties.getAsync().getPasswordUpgrade(),
+                meterRegistry
+            )
+        );
+    }
+
+    /**
+     * The scheduler of the {@code @Scheduled} methods which do not name one, configured by
+     * {@code spring.task.scheduling} as the auto-configured one it replaces.
+     */
+    @Bean(name = TASK_SCHEDULER)
+    public TaskScheduler taskScheduler(
+        ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder,
+        SimpleAsyncTaskSchedulerBuilder simpleAsyncTaskSchedulerBuilder
+    ) {
+        if (Threading.VIRTUAL.isActive(env)) {
+            return simpleAsyncTaskSchedulerBuilder.build();
+        }
+        return threadPoolTaskSchedulerBuilder.build();
+    }
+
+    @Bean(name = MAIL_SCHEDULER)
+    public TaskScheduler mailScheduler(
+        ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder,
+        SimpleAsyncTaskSchedulerBuilder simpleAsyncTaskSchedulerBuilder
+    ) {
+        LOG.debug("Creating Mail Task Scheduler");
+        if (Threading.VIRTUAL.isActive(env)) {
+            return simpleAsyncTaskSchedulerBuilder.threadNamePrefix(MAIL_THREAD_NAME_PREFIX).build();
+        }
+        return threadPoolTaskSchedulerBuilder.poolSize(1).threadNamePrefix(MAIL_THREAD_NAME_PREFIX).build();
     }
 
     @Override
@@ -0,0 +1,96 @@
+package com.ocean.store.config;
+
+import com.ocean.store.config.ApplicationProperties.Async.SaturationPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded thread pool for one kind of asynchronous work, published as the executor of its bean name.
+ * <p>
+ * Besides the {@code executor.active}, {@code executor.queued} and {@code executor.pool.size} gauges, it counts the
+ * rejected tasks in {@code executor.rejected}, and times the tasks waiting in the queue with {@code executor.idle} and
+ * running with {@code executor}, like the Micrometer executor metrics do.
+ */
+class BulkheadTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadTaskExecutor.class);
+
+    private static final String NAME_TAG = "name";
+
+    BulkheadTaskExecutor(
+        String name,
+        String threadNamePrefix,
+        ApplicationProperties.Async.Executor settings,
+        MeterRegistry meterRegistry
+    ) {
+        setBeanName(name);
+        setThreadNamePrefix(threadNamePrefix);
+        setCorePoolSize(settings.getCoreSize());
+        setMaxPoolSize(settings.getMaxSize());
+        setQueueCapacity(settings.getQueueCapacity());
+        setKeepAliveSeconds((int) settings.getKeepAlive().toSeconds());
+
+        Counter rejected = Counter.builder("executor.rejected")
+            .description("The number of tasks rejected because the executor was saturated")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        setRejectedExecutionHandler(new CountingRejectedExecutionHandler(name, settings.getSaturationPolicy(), rejected));
+
+        Timer idle = Timer.builder("executor.idle").tag(NAME_TAG, name).register(meterRegistry);
+        Timer execution = Timer.builder("executor").tag(NAME_TAG, name).register(meterRegistry);
+        setTaskDecorator(task -> {
+            long queuedTime = System.nanoTime();
+            return () -> {
+                idle.record(System.nanoTime() - queuedTime, TimeUnit.NANOSECONDS);
+                execution.record(task);
+            };
+        });
+
+        Gauge.builder("executor.active", this, ThreadPoolTaskExecutor::getActiveCount)
+            .description("The approximate number of threads that are actively executing tasks")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        Gauge.builder("executor.queued", this, ThreadPoolTaskExecutor::getQueueSize)
+            .description("The approximate number of tasks that are queued for execution")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        Gauge.builder("executor.pool.size", this, ThreadPoolTaskExecutor::getPoolSize)
+            .description("The current number of threads in the pool")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+    }
+
+    private static final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final String name;
+
+        private final RejectedExecutionHandler policy;
+
+        private final Counter rejected;
+
+        private CountingRejectedExecutionHandler(String name, SaturationPolicy saturationPolicy, Counter rejected) {
+            this.name = name;
+            this.policy = switch (saturationPolicy) {
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+                case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            };
+            this.rejected = rejected;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            rejected.increment();
+            LOG.debug("Executor {} is saturated, {} tasks are queued", name, executor.getQueue().size());
+            policy.rejectedExecution(task, executor);
+        }
+    }
+}
@@ -1,29 +1,53 @@
 package com.ocean.store.config;
 
+import com.ocean.store.management.CacheLoadMetricsAdvisor;
+import com.ocean.store.management.CacheMetersService;
+import com.ocean.store.security.CachingJwtDecoder;
+import com.ocean.store.security.DomainUserDetailsService;
+import java.io.File;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheOperationSource;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.jwt.Jwt;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
 @Configuration
-@EnableCaching
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> verifiedTokensConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> unknownUsersConfiguration;
+    private final Map<String, javax.cache.configuration.Configuration<Object, Object>> tieredConfigurations = new HashMap<>();
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -35,6 +59,115 @@ public class CacheConfiguration {
                 .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                 .build()
         );
+
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        cache
+            .getCaches()
+            .forEach((cacheName, settings) ->
+                tieredConfigurations.put(
+                    cacheName,
+                    tieredConfiguration(cacheName, settings, ehcache, cache.getDiskDirectory() != null)
+                )
+            );
+
+        long tokenCacheMaxEntries = applicationProperties.getSecurity().getTokenCache().getMaxEntries();
+        verifiedTokensConfiguration = tokenCacheMaxEntries > 0
+            ? Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                    Object.class,
+                    Object.class,
+                    ResourcePoolsBuilder.heap(tokenCacheMaxEntries)
+                )
+                    .withExpiry(new JwtExpiryPolicy())
+                    .build()
+            )
+            : null;
+
+        ApplicationProperties.Security.UnknownUsersCache unknownUsersCache = applicationProperties.getSecurity().getUnknownUsersCache();
+        unknownUsersConfiguration = unknownUsersCache.getMaxEntries() > 0
+            ? Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                    Object.class,
+                    Object.class,
+                    ResourcePoolsBuilder.heap(unknownUsersCache.getMaxEntries())
+                )
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(unknownUsersCache.getTimeToLive()))
+                    .build()
+            )
+            : null;
+    }
+
+    /**
+     * Build the configuration of a cache from its {@code application.cache.caches} settings.
+     * <p>
+     * The heap tier is sized in bytes when {@code heap-size} is set, in entries otherwise. The off-heap and disk tiers
+     * keep serialized entries out of the Java heap, so that large caches do not lengthen garbage collection pauses.
+     */
+    private static javax.cache.configuration.Configuration<Object, Object> tieredConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.CacheSettings settings,
+        JHipsterProperties.Cache.Ehcache ehcache,
+        boolean diskAvailable
+    ) {
+        ResourcePoolsBuilder resourcePools = settings.getHeapSize() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(settings.getHeapSize().toBytes(), MemoryUnit.B)
+            : ResourcePoolsBuilder.heap(settings.getHeapEntries() != null ? settings.getHeapEntries() : ehcache.getMaxEntries());
+        if (settings.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(settings.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+        if (settings.getDiskSize() != null) {
+            if (!diskAvailable) {
+                throw new IllegalStateException(
+                    "Cache " + cacheName + " has a disk tier, but application.cache.disk-directory is not set"
+                );
+            }
+            resourcePools = resourcePools.disk(settings.getDiskSize().toBytes(), MemoryUnit.B, false);
+        }
+        Duration timeToLive = settings.getTimeToLive() != null
+            ? settings.getTimeToLive()
+            : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
+                .build()
+        );
+    }
+
+    /**
+     * Replaces the default cache manager when {@code application.cache.disk-directory} is set, as disk tiers need a
+     * persistence directory, which can only be given when the cache manager is created.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache", name = "disk-directory")
+    public javax.cache.CacheManager jCacheCacheManager(
+        ApplicationProperties applicationProperties,
+        ObjectProvider<JCacheManagerCustomizer> customizers
+    ) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+            provider.getDefaultURI(),
+            new DefaultConfiguration(
+                provider.getDefaultClassLoader(),
+                new DefaultPersistenceConfiguration(new File(applicationProperties.getCache().getDiskDirectory()))
+            )
+        );
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    /**
+     * Times the loads of the values missing from the caches of {@code @Cacheable} methods. Caching is ordered before
+     * it, so that cache hits are not timed.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static CacheLoadMetricsAdvisor cacheLoadMetricsAdvisor(
+        CacheOperationSource cacheOperationSource,
+        ObjectProvider<CacheMetersService> cacheMetersService
+    ) {
+        CacheLoadMetricsAdvisor advisor = new CacheLoadMetricsAdvisor(cacheOperationSource, cacheMetersService);
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return advisor;
     }
 
     @Bean
@@ -47,20 +180,37 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.ocean.store.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.ocean.store.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.ocean.store.service.UserService.ACCOUNTS_BY_LOGIN_CACHE);
             createCache(cm, com.ocean.store.domain.User.class.getName());
             createCache(cm, com.ocean.store.domain.Authority.class.getName());
             createCache(cm, com.ocean.store.domain.User.class.getName() + ".authorities");
+            if (verifiedTokensConfiguration != null) {
+                createCache(cm, CachingJwtDecoder.VERIFIED_TOKENS_CACHE, verifiedTokensConfiguration);
+            }
+            if (unknownUsersConfiguration != null) {
+                createCache(cm, DomainUserDetailsService.UNKNOWN_USERS_CACHE, unknownUsersConfiguration);
+            }
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, tieredConfigurations.getOrDefault(cacheName, jcacheConfiguration));
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
+        // Publishes the hits, misses, puts and evictions read by the cache metrics
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
@@ -77,4 +227,29 @@ public class CacheConfiguration {
     public KeyGenerator keyGenerator() {
         return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
     }
+
+    /**
+     * Expires each verified token entry when the token itself expires.
+     */
+    private static class JwtExpiryPolicy implements ExpiryPolicy<Object, Object> {
+
+        @Override
+        public Duration getExpiryForCreation(Object key, Object value) {
+            if (value instanceof Jwt jwt && jwt.getExpiresAt() != null) {
+                Duration timeToExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+                return timeToExpiry.isNegative() ? Duration.ZERO : timeToExpiry;
+            }
+            return Duration.ZERO;
+        }
+
+        @Override
+        public Duration getExpiryForAccess(Object key, Supplier<?> value) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(Object key, Supplier<?> oldValue, Object newValue) {
+            return getExpiryForCreation(key, newValue);
+        }
+    }
 }
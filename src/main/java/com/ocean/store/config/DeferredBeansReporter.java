@@ -0,0 +1,118 @@
+package com.ocean.store.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Reports the beans whose creation was deferred by the lazy initialization: they are logged once the application is
+ * ready, and counted by the {@code application.startup.deferred.beans} gauge until they are all used.
+ * <p>
+ * The time taken to create them on first use, kept out of the startup, is recorded by the
+ * {@code application.startup.deferred.initialization} timer. A deferred bean created while creating another one is
+ * timed with it.
+ */
+class DeferredBeansReporter implements InstantiationAwareBeanPostProcessor, BeanFactoryAware, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeferredBeansReporter.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Set<String> deferredBeans = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The outermost deferred bean being created by the current thread.
+     */
+    private final ThreadLocal<Creation> creation = new ThreadLocal<>();
+
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private volatile Timer initialization;
+
+    DeferredBeansReporter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (initialization != null || event.getApplicationContext().getBeanFactory() != beanFactory) {
+            return;
+        }
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (
+                beanDefinition.isLazyInit() &&
+                beanDefinition.isSingleton() &&
+                !beanDefinition.isAbstract() &&
+                !beanFactory.containsSingleton(beanName)
+            ) {
+                deferredBeans.add(beanName);
+            }
+        }
+        MeterRegistry registry = meterRegistry.getObject();
+        Gauge.builder("application.startup.deferred.beans", deferredBeans, Set::size)
+            .description("The number of beans whose creation is deferred until first use")
+            .register(registry);
+        initialization = Timer.builder("application.startup.deferred.initialization")
+            .description("The time taken to create deferred beans on first use")
+            .register(registry);
+        LOG.info("Deferred the creation of {} beans until first use: {}", deferredBeans.size(), new TreeSet<>(deferredBeans));
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        if (initialization != null && deferredBeans.contains(beanName)) {
+            Creation current = creation.get();
+            // A creation that failed is no longer in progress
+            if (current == null || !beanFactory.isCurrentlyInCreation(current.beanName)) {
+                creation.set(new Creation(beanName, System.nanoTime()));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (initialization != null && deferredBeans.remove(beanName)) {
+            Creation current = creation.get();
+            if (current != null && current.beanName.equals(beanName)) {
+                creation.remove();
+                long duration = System.nanoTime() - current.start;
+                initialization.record(duration, TimeUnit.NANOSECONDS);
+                LOG.debug("Created deferred bean {} on first use in {} ms", beanName, TimeUnit.NANOSECONDS.toMillis(duration));
+            }
+        }
+        return bean;
+    }
+
+    private static final class Creation {
+
+        private final String beanName;
+
+        private final long start;
+
+        private Creation(String beanName, long start) {
+            this.beanName = beanName;
+            this.start = start;
+        }
+    }
+}
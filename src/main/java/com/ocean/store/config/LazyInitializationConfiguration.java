@@ -0,0 +1,64 @@
+package com.ocean.store.config;
+
+import com.ocean.store.security.DomainUserDetailsService;
+import com.ocean.store.service.CacheWarmupService;
+import com.ocean.store.service.HotPathWarmupService;
+import com.ocean.store.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Configuration of the lazy startup, when {@code spring.main.lazy-initialization} is set, as in the {@code lazy}
+ * profile.
+ * <p>
+ * The beans are then created on first use, except those of the authentication and user lookup paths, which the
+ * {@link HotPathWarmupService} runs before the node is ready, and those with {@link Scheduled} methods, which would
+ * otherwise never be scheduled. The beans left to create are reported by the {@link DeferredBeansReporter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+public class LazyInitializationConfiguration {
+
+    private static final List<Class<?>> HOT_PATH_TYPES = List.of(
+        SecurityFilterChain.class,
+        JwtEncoder.class,
+        JwtDecoder.class,
+        DomainUserDetailsService.class,
+        UserService.class,
+        HotPathWarmupService.class,
+        CacheWarmupService.class
+    );
+
+    @Bean
+    public static LazyInitializationExcludeFilter hotPathLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) ->
+            HOT_PATH_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType)) || hasScheduledMethods(beanType);
+    }
+
+    @Bean
+    public static DeferredBeansReporter deferredBeansReporter(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DeferredBeansReporter(meterRegistry);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(
+            beanType,
+            method -> scheduled.set(true),
+            method -> !scheduled.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+        );
+        return scheduled.get();
+    }
+}
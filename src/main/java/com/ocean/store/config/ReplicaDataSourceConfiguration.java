@@ -0,0 +1,89 @@
+package com.ocean.store.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+/**
+ * Configuration of the read replicas, when at least one is set in {@code application.datasource.replicas}.
+ * <p>
+ * The replica pools are configured like the primary one, from {@code spring.datasource.hikari}. Every pool publishes
+ * the {@code hikaricp.*} metrics, tagged with its name. Read-only transactions do not fill the Hibernate second-level
+ * cache, see {@link ReplicaAwareJpaDialect}.
+ */
+@Configuration
+@ConditionalOnProperty("application.datasource.replicas[0].url")
+public class ReplicaDataSourceConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    @Bean
+    public DataSource dataSource(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Environment env
+    ) {
+        ApplicationProperties.Datasource properties = applicationProperties.getDatasource();
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("Hikari");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ApplicationProperties.Datasource.Replica replicaProperties = properties.getReplicas().get(i);
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            String name = replicaProperties.getName() != null ? replicaProperties.getName() : primary.getPoolName() + "-replica-" + i;
+            replica.setPoolName(name);
+            replica.setJdbcUrl(replicaProperties.getUrl());
+            if (replicaProperties.getUsername() != null) {
+                replica.setUsername(replicaProperties.getUsername());
+                replica.setPassword(replicaProperties.getPassword());
+            }
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        LOG.debug("Routing read-only transactions to replicas {}", replicas.keySet());
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+            primary,
+            primary.getPoolName(),
+            replicas,
+            properties.getMaxReplicaLag(),
+            meterRegistry
+        );
+        dataSource.startLagChecks(properties.getReplicaCheckInterval());
+        return dataSource;
+    }
+
+    @Bean
+    public static BeanPostProcessor replicaAwareJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaAwareJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
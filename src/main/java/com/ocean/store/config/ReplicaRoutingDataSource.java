@@ -0,0 +1,192 @@
+package com.ocean.store.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * {@link DataSource} sending read-only transactions to read replicas, and everything else to the primary.
+ * <p>
+ * Connections are only fetched on the first statement, once the transaction has marked them read-only. Read-only
+ * connections are taken from the replicas in turn, skipping the replicas which lag behind the primary by more than
+ * {@code maxLag} or can not be reached; when none is left, they are taken from the primary. The lag of each replica is
+ * checked periodically, a replica is not used before its first check.
+ */
+final class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * Time since the last replayed transaction, or 0 when all the received WAL is replayed, as an idle primary sends
+     * nothing to replay. A server which is not in recovery is its own replica.
+     */
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final long maxLagMillis;
+
+    private final Counter primaryReadOnlyConnections;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private ScheduledExecutorService lagChecker;
+
+    ReplicaRoutingDataSource(
+        DataSource primary,
+        String primaryName,
+        Map<String, DataSource> replicas,
+        Duration maxLag,
+        MeterRegistry meterRegistry
+    ) {
+        super(primary);
+        this.primary = primary;
+        this.maxLagMillis = maxLag.toMillis();
+        this.primaryReadOnlyConnections = readOnlyConnectionsCounter(primaryName, meterRegistry);
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+        // Connections are not in auto-commit mode, see spring.datasource.hikari.auto-commit
+        setDefaultAutoCommit(false);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    /**
+     * Check the lag of the replicas periodically, starting now.
+     *
+     * @param interval the time between two checks.
+     */
+    synchronized void startLagChecks(Duration interval) {
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkReplicas() {
+        replicas.forEach(Replica::check);
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Counter readOnlyConnectionsCounter(String pool, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.readonly.connections")
+            .description("Indicates the number of read-only connections taken from each pool.")
+            .tag("pool", pool)
+            .register(meterRegistry);
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            int first = nextReplica.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(first + i, replicas.size()));
+                if (replica.available) {
+                    try {
+                        Connection connection = replica.dataSource.getConnection();
+                        replica.readOnlyConnections.increment();
+                        return connection;
+                    } catch (SQLException e) {
+                        LOG.warn("Replica {} is not available: {}", replica.name, e.getMessage());
+                        replica.available = false;
+                    }
+                }
+            }
+            primaryReadOnlyConnections.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Read-only connections always use the configured credentials");
+        }
+    }
+
+    private final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private final Counter readOnlyConnections;
+
+        private volatile boolean available;
+
+        private volatile double lagMillis = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.readOnlyConnections = readOnlyConnectionsCounter(name, meterRegistry);
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagMillis)
+                .description("Indicates the replication lag of a replica, in milliseconds.")
+                .tag("pool", name)
+                .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", this, replica -> replica.available ? 1 : 0)
+                .description("Indicates whether a replica receives read-only connections.")
+                .tag("pool", name)
+                .register(meterRegistry);
+        }
+
+        private void check() {
+            boolean wasAvailable = available;
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    lagMillis = resultSet.getDouble(1);
+                }
+                available = lagMillis <= maxLagMillis;
+                if (!available && wasAvailable) {
+                    LOG.warn("Replica {} lags by {} ms, reading from the other pools", name, (long) lagMillis);
+                }
+            } catch (SQLException e) {
+                lagMillis = Double.NaN;
+                available = false;
+                if (wasAvailable) {
+                    LOG.warn("Replica {} is not available: {}", name, e.getMessage());
+                }
+            }
+            if (available && !wasAvailable) {
+                LOG.info("Replica {} is available, lagging by {} ms", name, (long) lagMillis);
+            }
+        }
+    }
+}
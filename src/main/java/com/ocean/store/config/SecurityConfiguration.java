@@ -2,8 +2,10 @@ package com.ocean.store.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import com.ocean.store.management.SecurityMetersService;
 import com.ocean.store.security.*;
 import com.ocean.store.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,7 +13,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
@@ -33,8 +34,23 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        return new AdaptivePasswordEncoder(applicationProperties.getSecurity().getPasswordHash().getStrength(), metersService);
+    }
+
+    @Bean
+    public LoginVerificationExecutor loginVerificationExecutor(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        SecurityMetersService metersService
+    ) {
+        ApplicationProperties.Security.LoginVerification loginVerification = applicationProperties.getSecurity().getLoginVerification();
+        return new LoginVerificationExecutor(
+            loginVerification.getPoolSize(),
+            loginVerification.getQueueCapacity(),
+            meterRegistry,
+            metersService
+        );
     }
 
     @Bean
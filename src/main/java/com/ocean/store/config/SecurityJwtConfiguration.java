@@ -5,15 +5,25 @@ import static com.ocean.store.security.SecurityUtils.JWT_ALGORITHM;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import com.ocean.store.management.SecurityMetersService;
+import com.ocean.store.security.CachingJwtDecoder;
+import com.ocean.store.security.JwtPreValidator;
+import com.ocean.store.security.PreValidatedJwtProcessor;
+import com.ocean.store.security.RejectedTokenException;
+import com.ocean.store.security.TokenFailureReason;
+import java.util.Optional;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
@@ -26,30 +36,52 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
-        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ObjectProvider<javax.cache.CacheManager> cacheManager) {
+        JwtDecoder verifyingDecoder = verifyingJwtDecoder(metersService);
+        javax.cache.CacheManager jcacheManager = cacheManager.getIfAvailable();
+        javax.cache.Cache<Object, Object> verifiedTokens = jcacheManager != null
+            ? jcacheManager.getCache(CachingJwtDecoder.VERIFIED_TOKENS_CACHE)
+            : null;
+        return verifiedTokens != null ? new CachingJwtDecoder(verifyingDecoder, verifiedTokens, metersService) : verifyingDecoder;
+    }
+
+    public JwtDecoder verifyingJwtDecoder(SecurityMetersService metersService) {
+        JwtPreValidator preValidator = new JwtPreValidator(getSecretKey(), JWT_ALGORITHM);
+        // The pre-validator verifies the signature, the decoder only parses the token and validates its claims
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(new PreValidatedJwtProcessor());
         return token -> {
+            Optional<TokenFailureReason> failure = preValidator.validate(token);
+            if (failure.isPresent()) {
+                trackTokenFailure(metersService, failure.orElseThrow());
+                throw new RejectedTokenException(failure.orElseThrow());
+            }
             try {
                 return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
-                }
+            } catch (JwtValidationException e) {
+                trackTokenFailure(metersService, TokenFailureReason.INVALID_CLAIMS);
+                LOG.debug("Rejected JWT claims: {}", e.getMessage());
+                throw e;
+            } catch (BadJwtException e) {
+                trackTokenFailure(metersService, TokenFailureReason.MALFORMED);
+                LOG.debug("Rejected malformed JWT: {}", e.getMessage());
+                throw e;
+            } catch (JwtException e) {
+                LOG.warn("Unknown JWT error {}", e.getMessage());
                 throw e;
             }
         };
     }
 
+    private static void trackTokenFailure(SecurityMetersService metersService, TokenFailureReason reason) {
+        switch (reason) {
+            case MALFORMED -> metersService.trackTokenMalformed();
+            case INVALID_SIGNATURE -> metersService.trackTokenInvalidSignature();
+            case EXPIRED -> metersService.trackTokenExpired();
+            case UNSUPPORTED -> metersService.trackTokenUnsupported();
+            case INVALID_CLAIMS -> metersService.trackTokenInvalidClaims();
+        }
+    }
+
     @Bean
     public JwtEncoder jwtEncoder() {
         return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
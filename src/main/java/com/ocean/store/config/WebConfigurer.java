@@ -8,12 +8,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
 import org.springframework.boot.web.server.*;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -53,6 +56,20 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
     public void customize(WebServerFactory server) {
         // When running in an IDE or with ./mvnw spring-boot:run, set location of the static web assets.
         setLocationForStaticAssets(server);
+        setVirtualThreadsForRequests(server);
+    }
+
+    /**
+     * Spring Boot only switches Tomcat and Jetty to virtual threads: run the Undertow blocking request handlers on
+     * virtual threads as well when {@code spring.threads.virtual.enabled} is set.
+     */
+    private void setVirtualThreadsForRequests(WebServerFactory server) {
+        if (server instanceof UndertowServletWebServerFactory undertow && Threading.VIRTUAL.isActive(env)) {
+            LOG.info("Handling requests on virtual threads");
+            undertow.addDeploymentInfoCustomizers(deploymentInfo ->
+                deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-virtual-"))
+            );
+        }
     }
 
     private void setLocationForStaticAssets(WebServerFactory server) {
@@ -0,0 +1,62 @@
+package com.ocean.store.management;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheOperationSource;
+import org.springframework.cache.interceptor.CacheableOperation;
+
+/**
+ * Advisor timing the {@code @Cacheable} methods when they are actually invoked, that is when the value is missing from
+ * the cache.
+ * <p>
+ * It must be ordered after the caching advisor, so that it only sees the invocations the cache let through.
+ */
+public class CacheLoadMetricsAdvisor extends StaticMethodMatcherPointcutAdvisor implements MethodInterceptor {
+
+    private final CacheOperationSource cacheOperationSource;
+
+    private final ObjectProvider<CacheMetersService> cacheMetersService;
+
+    public CacheLoadMetricsAdvisor(CacheOperationSource cacheOperationSource, ObjectProvider<CacheMetersService> cacheMetersService) {
+        this.cacheOperationSource = cacheOperationSource;
+        this.cacheMetersService = cacheMetersService;
+        setAdvice(this);
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return !cacheNames(method, targetClass).isEmpty();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            Class<?> targetClass = invocation.getThis() != null ? AopProxyUtils.ultimateTargetClass(invocation.getThis()) : null;
+            CacheMetersService metersService = cacheMetersService.getObject();
+            cacheNames(invocation.getMethod(), targetClass).forEach(cacheName -> metersService.recordCacheLoad(cacheName, duration));
+        }
+    }
+
+    private List<String> cacheNames(Method method, Class<?> targetClass) {
+        Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
+        if (operations == null) {
+            return List.of();
+        }
+        return operations
+            .stream()
+            .filter(CacheableOperation.class::isInstance)
+            .flatMap(operation -> operation.getCacheNames().stream())
+            .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ocean.store.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheMetersService {
+
+    public static final String CACHE_LOAD_METER_NAME = "cache.load";
+    public static final String CACHE_LOAD_METER_DESCRIPTION = "Indicates the time spent loading the values missing from a cache.";
+    public static final String CACHE_LOAD_METER_CACHE_DIMENSION = "cache";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer> cacheLoadTimers = new ConcurrentHashMap<>();
+
+    public CacheMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private Timer cacheLoadTimer(String cacheName) {
+        return cacheLoadTimers.computeIfAbsent(cacheName, name ->
+            Timer.builder(CACHE_LOAD_METER_NAME)
+                .description(CACHE_LOAD_METER_DESCRIPTION)
+                .tag(CACHE_LOAD_METER_CACHE_DIMENSION, name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry)
+        );
+    }
+
+    public <T> T timeCacheLoad(String cacheName, Supplier<T> load) {
+        return cacheLoadTimer(cacheName).record(load);
+    }
+
+    public void recordCacheLoad(String cacheName, long durationNanos) {
+        cacheLoadTimer(cacheName).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -2,6 +2,8 @@ package com.ocean.store.management;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +15,53 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION = "Indicates lookups and evictions of the verified tokens cache.";
+    public static final String TOKEN_CACHE_METER_BASE_UNIT = "tokens";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String REJECTED_LOGINS_METER_NAME = "security.authentication.rejected-logins";
+    public static final String REJECTED_LOGINS_METER_DESCRIPTION =
+        "Indicates the count of logins rejected because the login verification queue was full.";
+    public static final String REJECTED_LOGINS_METER_BASE_UNIT = "logins";
+
+    public static final String PASSWORD_HASH_METER_NAME = "security.authentication.password-hash";
+    public static final String PASSWORD_HASH_METER_DESCRIPTION = "Indicates the time spent hashing and verifying passwords.";
+    public static final String PASSWORD_HASH_METER_OPERATION_DIMENSION = "operation";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenInvalidClaimsCounter;
+
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Counter tokenCacheEvictionCounter;
+
+    private final Counter rejectedLoginsCounter;
+
+    private final Timer passwordEncodeTimer;
+    private final Timer passwordMatchTimer;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenInvalidClaimsCounter = invalidTokensCounterForCauseBuilder("invalid-claims").register(registry);
+
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.tokenCacheEvictionCounter = tokenCacheCounterForResultBuilder("eviction").register(registry);
+
+        this.rejectedLoginsCounter = Counter.builder(REJECTED_LOGINS_METER_NAME)
+            .baseUnit(REJECTED_LOGINS_METER_BASE_UNIT)
+            .description(REJECTED_LOGINS_METER_DESCRIPTION)
+            .register(registry);
+
+        this.passwordEncodeTimer = passwordHashTimerForOperationBuilder("encode").register(registry);
+        this.passwordMatchTimer = passwordHashTimerForOperationBuilder("match").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +71,19 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Timer.Builder passwordHashTimerForOperationBuilder(String operation) {
+        return Timer.builder(PASSWORD_HASH_METER_NAME)
+            .description(PASSWORD_HASH_METER_DESCRIPTION)
+            .tag(PASSWORD_HASH_METER_OPERATION_DIMENSION, operation);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +99,32 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenInvalidClaims() {
+        this.tokenInvalidClaimsCounter.increment();
+    }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackTokenCacheEviction() {
+        this.tokenCacheEvictionCounter.increment();
+    }
+
+    public void trackLoginRejected() {
+        this.rejectedLoginsCounter.increment();
+    }
+
+    public <T> T timePasswordEncode(Supplier<T> encode) {
+        return this.passwordEncodeTimer.record(encode);
+    }
+
+    public <T> T timePasswordMatch(Supplier<T> match) {
+        return this.passwordMatchTimer.record(match);
+    }
 }
@@ -0,0 +1,45 @@
+package com.ocean.store.repository;
+
+import com.ocean.store.domain.MailOutboxMessage;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link MailOutboxMessage} entity.
+ */
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+    /**
+     * Pending messages of the outbox.
+     */
+    interface PendingMessages {
+        long getCount();
+
+        Instant getOldestCreatedDate();
+    }
+
+    /**
+     * Lock the messages due to be sent, skipping the ones already locked by another node.
+     *
+     * @param now the current date.
+     * @param limit the maximum number of messages.
+     * @return the locked messages, oldest first.
+     */
+    @Query(
+        value = "select * from mail_outbox where dead_letter_date is null and next_attempt_date <= :now " +
+        "order by next_attempt_date, id limit :limit for update skip locked",
+        nativeQuery = true
+    )
+    List<MailOutboxMessage> lockDueMessages(Instant now, int limit);
+
+    @Query(
+        "select count(message) as count, min(message.createdDate) as oldestCreatedDate from MailOutboxMessage message " +
+        "where message.deadLetterDate is null"
+    )
+    PendingMessages findPendingMessages();
+
+    long countByDeadLetterDateIsNotNull();
+}
@@ -2,35 +2,90 @@ package com.ocean.store.repository;
 
 import com.ocean.store.domain.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Data JPA repository for the {@link User} entity.
+ * <p>
+ * The lookups filling the user caches run in read-write transactions, so that they read from the primary: a read
+ * replica may still return the rows the caches were just evicted for. They still run read-only when called within a
+ * read-only transaction, so these must not fill the caches.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     String USERS_BY_LOGIN_CACHE = "usersByLogin";
 
     String USERS_BY_EMAIL_CACHE = "usersByEmail";
+
+    /**
+     * Identity of a user, to check whether a login or an email is used without loading the user.
+     */
+    interface UserIdentity {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+
+        boolean isActivated();
+
+        default boolean hasLogin(String login) {
+            return getLogin().equalsIgnoreCase(login);
+        }
+
+        default boolean hasEmail(String email) {
+            return getEmail() != null && getEmail().equalsIgnoreCase(email);
+        }
+    }
+
     Optional<User> findOneByActivationKey(String activationKey);
     List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
+    List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime, Limit limit);
     Optional<User> findOneByResetKey(String resetKey);
     Optional<User> findOneByEmailIgnoreCase(String email);
     Optional<User> findOneByLogin(String login);
 
+    @Query(
+        "select user.id as id, user.login as login, user.email as email, user.activated as activated from User user " +
+        "where user.login = :login or upper(user.email) = upper(:email)"
+    )
+    List<UserIdentity> findIdentitiesByLoginOrEmailIgnoreCase(String login, String email);
+
     @EntityGraph(attributePaths = "authorities")
     @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, unless = "#result == null")
+    @Transactional
     Optional<User> findOneWithAuthoritiesByLogin(String login);
 
     @EntityGraph(attributePaths = "authorities")
     @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, unless = "#result == null")
+    @Transactional
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    Window<User> findAllByIdNotNull(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<User> findAllByIdNotNullAndActivatedIsTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("select user.id from User user where user.activated = true order by user.lastModifiedDate desc")
+    List<Long> findRecentlyModifiedActivatedUserIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = "authorities")
+    @Transactional
+    List<User> findAllWithAuthoritiesByIdIn(Collection<Long> ids);
+
+    @Query("select user.login from User user where user.login in :logins")
+    List<String> findExistingLogins(Collection<String> logins);
+
+    @Query("select upper(user.email) from User user where upper(user.email) in :upperCaseEmails")
+    List<String> findExistingUpperCaseEmails(Collection<String> upperCaseEmails);
 }
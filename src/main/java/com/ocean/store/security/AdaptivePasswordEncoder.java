@@ -0,0 +1,58 @@
+package com.ocean.store.security;
+
+import com.ocean.store.management.SecurityMetersService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A BCrypt {@link PasswordEncoder} whose strength is tuned per deployment.
+ * <p>
+ * The strength is configured, the same for every node, so that all of them agree on which hashes to upgrade. Hashes
+ * stored with a lower strength are reported by {@link #upgradeEncoding(String)}, so that Spring Security re-hashes them
+ * on the next successful login; hashes with a higher strength are kept, so that lowering the strength never weakens
+ * stored hashes.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_STRENGTH_PATTERN = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    public AdaptivePasswordEncoder(int strength, SecurityMetersService metersService) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.metersService = metersService;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return metersService.timePasswordEncode(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return metersService.timePasswordMatch(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Tell whether a hash was computed with a lower strength than the current one.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_STRENGTH_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ocean.store.security;
+
+import com.ocean.store.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumSet;
+import javax.cache.Cache;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * A {@link JwtDecoder} keeping the tokens it has already verified, so that repeated calls with the same token
+ * skip the Base64 decoding, the JSON parsing and the signature verification.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash, which keeps the keys small and of a fixed size, and the cache entries
+ * expire with the token itself (see {@link com.ocean.store.config.CacheConfiguration}).
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String VERIFIED_TOKENS_CACHE = "verifiedTokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtDecoder delegate;
+
+    private final Cache<Object, Object> cache;
+
+    private final SecurityMetersService metersService;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Cache<Object, Object> cache, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.metersService = metersService;
+        cache
+            .unwrap(org.ehcache.Cache.class)
+            .getRuntimeConfiguration()
+            .registerCacheEventListener(
+                event -> metersService.trackTokenCacheEviction(),
+                EventOrdering.UNORDERED,
+                EventFiring.ASYNCHRONOUS,
+                EnumSet.of(EventType.EVICTED)
+            );
+    }
+
+    /**
+     * @return the decoder verifying the tokens which are not in the cache.
+     */
+    public JwtDecoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        if (cache.get(key) instanceof Jwt jwt && isNotExpired(jwt)) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        metersService.trackTokenCacheMiss();
+        Jwt jwt = delegate.decode(token);
+        cache.put(key, jwt);
+        return jwt;
+    }
+
+    private static boolean isNotExpired(Jwt jwt) {
+        return jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+}
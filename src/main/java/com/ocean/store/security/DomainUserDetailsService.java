@@ -4,48 +4,113 @@ import com.ocean.store.domain.Authority;
 import com.ocean.store.domain.User;
 import com.ocean.store.repository.UserRepository;
 import java.util.*;
-import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * Logins and emails which are not found are remembered in the {@value #UNKNOWN_USERS_CACHE} cache, so that repeated
+ * attempts with unknown users do not reach the database. {@link com.ocean.store.service.UserService} evicts them
+ * whenever a user is created or changes its login or email.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
 
+    public static final String UNKNOWN_USERS_CACHE = "unknownUsers";
+
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final CacheManager cacheManager;
+
+    public DomainUserDetailsService(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
     }
 
+    /**
+     * Load a user by login or email.
+     * <p>
+     * This is not transactional, so that rejecting an unknown user does not even take a database connection: the
+     * repository lookups fetch the authorities eagerly, in their own read-only transaction.
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+        Cache unknownUsers = cacheManager.getCache(UNKNOWN_USERS_CACHE);
+        return switch (LoginIdentifierClassifier.classify(login)) {
+            case EMAIL -> loadUserByEmail(login, unknownUsers);
+            case LOGIN -> loadUserByLogin(login.toLowerCase(Locale.ENGLISH), unknownUsers);
+            case INVALID -> throw new UsernameNotFoundException("User " + login + " was not found in the database");
+        };
+    }
+
+    private UserDetails loadUserByEmail(String email, Cache unknownUsers) {
+        String unknownUserKey = unknownEmailKey(email);
+        if (isUnknown(unknownUsers, unknownUserKey)) {
+            throw new UsernameNotFoundException("User with email " + email + " was not found in the database");
         }
+        return userRepository
+            .findOneWithAuthoritiesByEmailIgnoreCase(email)
+            .map(user -> createSpringSecurityUser(email, user))
+            .orElseThrow(() ->
+                rememberUnknownUser(unknownUsers, unknownUserKey, "User with email " + email + " was not found in the database")
+            );
+    }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+    private UserDetails loadUserByLogin(String lowercaseLogin, Cache unknownUsers) {
+        String unknownUserKey = unknownLoginKey(lowercaseLogin);
+        if (isUnknown(unknownUsers, unknownUserKey)) {
+            throw new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database");
+        }
         return userRepository
             .findOneWithAuthoritiesByLogin(lowercaseLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+            .orElseThrow(() ->
+                rememberUnknownUser(unknownUsers, unknownUserKey, "User " + lowercaseLogin + " was not found in the database")
+            );
+    }
+
+    /**
+     * Key of a login in the {@value #UNKNOWN_USERS_CACHE} cache.
+     *
+     * @param login the login, in any case.
+     * @return the cache key.
+     */
+    public static String unknownLoginKey(String login) {
+        return "login:" + login.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Key of an email in the {@value #UNKNOWN_USERS_CACHE} cache.
+     *
+     * @param email the email, in any case.
+     * @return the cache key.
+     */
+    public static String unknownEmailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static boolean isUnknown(Cache unknownUsers, String key) {
+        return unknownUsers != null && unknownUsers.get(key) != null;
+    }
+
+    private static UsernameNotFoundException rememberUnknownUser(Cache unknownUsers, String key, String message) {
+        if (unknownUsers != null) {
+            unknownUsers.put(key, Boolean.TRUE);
+        }
+        return new UsernameNotFoundException(message);
     }
 
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
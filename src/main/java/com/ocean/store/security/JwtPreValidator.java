@@ -0,0 +1,168 @@
+package com.ocean.store.security;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+
+/**
+ * Cheap checks run before a JWT is handed to the full decoder, so that bad tokens are rejected without
+ * building any exception.
+ * <p>
+ * The checks cover the compact serialization, the Base64URL alphabet, the header algorithm, critical parameters and
+ * type, the HMAC signature and the expiry time. A token passing them is then decoded and its claims validated, without
+ * verifying the signature again, see {@link PreValidatedJwtProcessor}.
+ */
+public class JwtPreValidator {
+
+    /**
+     * Same leeway as the default {@link org.springframework.security.oauth2.jwt.JwtTimestampValidator}.
+     */
+    static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String algorithm;
+
+    private final ThreadLocal<Mac> mac;
+
+    private final Clock clock;
+
+    public JwtPreValidator(SecretKey key, MacAlgorithm algorithm) {
+        this(key, algorithm, Clock.systemUTC());
+    }
+
+    JwtPreValidator(SecretKey key, MacAlgorithm algorithm, Clock clock) {
+        this.algorithm = algorithm.getName();
+        this.clock = clock;
+        String macAlgorithm = "HmacSHA" + this.algorithm.substring(2);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(macAlgorithm);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Check a token.
+     *
+     * @param token the compact serialization of the token.
+     * @return the reason why the token is rejected, or empty if it can be handed to the full decoder.
+     */
+    public Optional<TokenFailureReason> validate(String token) {
+        if (token == null) {
+            return Optional.of(TokenFailureReason.MALFORMED);
+        }
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0) {
+            return Optional.of(TokenFailureReason.MALFORMED);
+        }
+        if (token.indexOf('.', payloadEnd + 1) >= 0) {
+            // Five segments: an encrypted token
+            return Optional.of(TokenFailureReason.UNSUPPORTED);
+        }
+        if (
+            !isBase64Url(token, 0, headerEnd) ||
+            !isBase64Url(token, headerEnd + 1, payloadEnd) ||
+            !isBase64Url(token, payloadEnd + 1, token.length())
+        ) {
+            return Optional.of(TokenFailureReason.MALFORMED);
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        Map<String, Object> header = parseJson(bytes, 0, headerEnd);
+        if (header == null) {
+            return Optional.of(TokenFailureReason.MALFORMED);
+        }
+        if (!algorithm.equals(header.get("alg")) || payloadEnd + 1 == bytes.length) {
+            return Optional.of(TokenFailureReason.UNSUPPORTED);
+        }
+        if (header.containsKey("crit") || !isJwtType(header.get("typ"))) {
+            // The decoder does not check the headers of pre-validated tokens: no extension is understood
+            return Optional.of(TokenFailureReason.UNSUPPORTED);
+        }
+
+        Mac hmac = mac.get();
+        hmac.update(bytes, 0, payloadEnd);
+        byte[] expected = hmac.doFinal();
+        byte[] actual = decode(bytes, payloadEnd + 1, bytes.length);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.of(TokenFailureReason.INVALID_SIGNATURE);
+        }
+
+        Map<String, Object> claims = parseJson(bytes, headerEnd + 1, payloadEnd);
+        if (claims == null) {
+            return Optional.of(TokenFailureReason.MALFORMED);
+        }
+        if (
+            claims.get("exp") instanceof Number expiresAt &&
+            expiresAt.longValue() + CLOCK_SKEW.toSeconds() < clock.instant().getEpochSecond()
+        ) {
+            return Optional.of(TokenFailureReason.EXPIRED);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Accept the same types as the default Nimbus verifier: none, or {@code JWT}.
+     */
+    private static boolean isJwtType(Object type) {
+        return type == null || "JWT".equalsIgnoreCase(type.toString());
+    }
+
+    /**
+     * Check a segment only contains characters of the unpadded Base64URL alphabet, and has a length which can be decoded.
+     */
+    private static boolean isBase64Url(String token, int start, int end) {
+        if ((end - start) % 4 == 1) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = token.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] decode(byte[] bytes, int start, int end) {
+        ByteBuffer decoded = DECODER.decode(ByteBuffer.wrap(bytes, start, end - start));
+        byte[] result = new byte[decoded.remaining()];
+        decoded.get(result);
+        return result;
+    }
+
+    /**
+     * Parse a segment as a JSON object, only calling the parser when the content looks like one.
+     *
+     * @return the JSON object, or {@code null} if the segment is not a JSON object.
+     */
+    private static Map<String, Object> parseJson(byte[] bytes, int start, int end) {
+        String json = new String(decode(bytes, start, end), StandardCharsets.UTF_8).strip();
+        if (!json.startsWith("{") || !json.endsWith("}")) {
+            return null;
+        }
+        try {
+            return JSONObjectUtils.parse(json);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+}
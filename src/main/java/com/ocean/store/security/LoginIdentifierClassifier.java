@@ -0,0 +1,150 @@
+package com.ocean.store.security;
+
+import com.ocean.store.config.Constants;
+import java.util.regex.Pattern;
+import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
+
+/**
+ * Tell whether the identifier a user logs in with is an email, a login, or can be neither.
+ * <p>
+ * Identifiers made of the usual characters are classified with a single pass over their characters, without any
+ * allocation. Only identifiers with unusual characters, like quoted or internationalized emails, go through the
+ * {@link EmailValidator} and the {@link Constants#LOGIN_REGEX login pattern}, which give the same result.
+ */
+public final class LoginIdentifierClassifier {
+
+    /**
+     * Kinds of login identifiers.
+     */
+    public enum Kind {
+        EMAIL,
+        LOGIN,
+        INVALID,
+    }
+
+    static final int MAX_EMAIL_LENGTH = 254;
+
+    static final int MAX_LOGIN_LENGTH = 50;
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+
+    private static final EmailValidator EMAIL_VALIDATOR = new EmailValidator();
+
+    private static final Pattern LOGIN_PATTERN = Pattern.compile(Constants.LOGIN_REGEX);
+
+    private LoginIdentifierClassifier() {}
+
+    /**
+     * Classify a login identifier.
+     *
+     * @param identifier the identifier the user logs in with.
+     * @return {@link Kind#EMAIL} if it is a valid email, {@link Kind#LOGIN} if it is a valid login,
+     * {@link Kind#INVALID} otherwise.
+     */
+    public static Kind classify(String identifier) {
+        if (identifier == null || identifier.isEmpty() || identifier.length() > MAX_EMAIL_LENGTH) {
+            return Kind.INVALID;
+        }
+        int at = -1;
+        boolean plus = false;
+        boolean whitespace = false;
+        boolean unusual = false;
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            if (c == '@') {
+                at = i;
+            } else if (c == '+') {
+                plus = true;
+            } else if (c <= ' ' || c == 0x7f) {
+                whitespace = true;
+            } else if (!isAlphanumeric(c) && c != '.' && c != '_' && c != '-') {
+                unusual = true;
+            }
+        }
+        if (whitespace && identifier.indexOf('"') < 0) {
+            return Kind.INVALID;
+        }
+        if (whitespace || unusual || (at >= 0 && hasUnderscoreOrPlus(identifier, at + 1))) {
+            return classifyWithPatterns(identifier);
+        }
+
+        if (at >= 0 && isEmail(identifier, at)) {
+            return Kind.EMAIL;
+        }
+        if (identifier.length() > MAX_LOGIN_LENGTH) {
+            return Kind.INVALID;
+        }
+        if (plus) {
+            return LOGIN_PATTERN.matcher(identifier).matches() ? Kind.LOGIN : Kind.INVALID;
+        }
+        return Kind.LOGIN;
+    }
+
+    private static Kind classifyWithPatterns(String identifier) {
+        if (EMAIL_VALIDATOR.isValid(identifier, null)) {
+            return Kind.EMAIL;
+        }
+        if (identifier.length() <= MAX_LOGIN_LENGTH && LOGIN_PATTERN.matcher(identifier).matches()) {
+            return Kind.LOGIN;
+        }
+        return Kind.INVALID;
+    }
+
+    /**
+     * Check an identifier made of letters, digits, {@code .}, {@code _}, {@code -}, {@code +} and {@code @}, with only
+     * letters, digits, {@code .} and {@code -} after the last {@code @}, is an email: dot-separated atoms before the
+     * last {@code @}, and a domain name after it.
+     */
+    private static boolean isEmail(String identifier, int at) {
+        if (at == 0 || at > MAX_LOCAL_PART_LENGTH || at == identifier.length() - 1) {
+            return false;
+        }
+        char previous = '.';
+        for (int i = 0; i < at; i++) {
+            char c = identifier.charAt(i);
+            if (c == '@' || (c == '.' && previous == '.')) {
+                return false;
+            }
+            previous = c;
+        }
+        if (previous == '.') {
+            return false;
+        }
+
+        int labelStart = at + 1;
+        for (int i = at + 1; i <= identifier.length(); i++) {
+            char c = i < identifier.length() ? identifier.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (
+                    labelLength == 0 ||
+                    labelLength > MAX_DOMAIN_LABEL_LENGTH ||
+                    identifier.charAt(labelStart) == '-' ||
+                    identifier.charAt(i - 1) == '-'
+                ) {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isAlphanumeric(c) && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasUnderscoreOrPlus(String identifier, int from) {
+        for (int i = from; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            if (c == '_' || c == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
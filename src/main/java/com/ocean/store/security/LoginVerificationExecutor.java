@@ -0,0 +1,71 @@
+package com.ocean.store.security;
+
+import com.ocean.store.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Run login verifications, and their password hashing, on a dedicated pool of limited size.
+ * <p>
+ * A burst of logins then only uses as many cores as the pool has threads. The request threads do not wait for the
+ * verification, so queued logins do not hold them, and once the queue is full logins are rejected right away. The pool
+ * is published as the
+ * {@value #EXECUTOR_NAME} executor: {@code executor.queued} gives the queue depth and {@code executor.idle} the time
+ * spent waiting in the queue.
+ */
+public class LoginVerificationExecutor implements DisposableBean {
+
+    public static final String EXECUTOR_NAME = "loginVerification";
+
+    private final ExecutorService executor;
+
+    private final SecurityMetersService metersService;
+
+    public LoginVerificationExecutor(int poolSize, int queueCapacity, MeterRegistry registry, SecurityMetersService metersService) {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("login-verification-")
+        );
+        this.executor = ExecutorServiceMetrics.monitor(registry, threadPoolExecutor, EXECUTOR_NAME);
+        this.metersService = metersService;
+    }
+
+    /**
+     * Authenticate a login request on the verification pool.
+     *
+     * @param authenticationManager the manager verifying the credentials.
+     * @param authenticationRequest the credentials.
+     * @return the authenticated user, once verified.
+     * @throws RejectedExecutionException if the verification queue is full.
+     */
+    public CompletableFuture<Authentication> authenticate(
+        AuthenticationManager authenticationManager,
+        Authentication authenticationRequest
+    ) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticationManager.authenticate(authenticationRequest), executor);
+        } catch (RejectedExecutionException e) {
+            metersService.trackLoginRejected();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ocean.store.security;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.text.ParseException;
+
+/**
+ * A JWT processor for the tokens accepted by the {@link JwtPreValidator}, which has already verified their HMAC
+ * signature: it only reads the claims of signed tokens, instead of computing the HMAC a second time.
+ * <p>
+ * It must only be given tokens accepted by the {@link JwtPreValidator}. The claims are still validated by the
+ * {@link org.springframework.security.oauth2.jwt.NimbusJwtDecoder} using it.
+ */
+public final class PreValidatedJwtProcessor extends DefaultJWTProcessor<SecurityContext> {
+
+    @Override
+    public JWTClaimsSet process(SignedJWT signedJWT, SecurityContext context) throws BadJOSEException {
+        try {
+            return signedJWT.getJWTClaimsSet();
+        } catch (ParseException e) {
+            throw new BadJOSEException("Invalid JWT claims set: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ocean.store.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+/**
+ * This exception is thrown when a JWT is rejected by the {@link JwtPreValidator}.
+ * <p>
+ * It does not capture a stack trace: it is thrown for every bad token a client presents, and the location is always the same.
+ */
+public class RejectedTokenException extends BadJwtException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TokenFailureReason reason;
+
+    public RejectedTokenException(TokenFailureReason reason) {
+        super("Rejected token: " + reason.name().toLowerCase().replace('_', ' '));
+        this.reason = reason;
+    }
+
+    public TokenFailureReason getReason() {
+        return reason;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
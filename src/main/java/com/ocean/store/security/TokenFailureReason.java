@@ -0,0 +1,32 @@
+package com.ocean.store.security;
+
+/**
+ * Reasons for which a JWT presented by a client is rejected.
+ */
+public enum TokenFailureReason {
+    /**
+     * The token is not a compact JWS serialization, or its segments are not valid Base64URL or JSON.
+     */
+    MALFORMED,
+
+    /**
+     * The token signature does not match its content.
+     */
+    INVALID_SIGNATURE,
+
+    /**
+     * The token is past its expiry time, clock skew included.
+     */
+    EXPIRED,
+
+    /**
+     * The token is well-formed but uses a serialization or algorithm which is not accepted.
+     */
+    UNSUPPORTED,
+
+    /**
+     * The token passed the pre-validation, but its claims are rejected by the decoder validators, for example because
+     * of a not-before time in the future.
+     */
+    INVALID_CLAIMS,
+}
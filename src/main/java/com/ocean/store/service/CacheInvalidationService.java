@@ -0,0 +1,334 @@
+package com.ocean.store.service;
+
+import com.ocean.store.config.ApplicationProperties;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service evicting cache entries on every node of the cluster.
+ * <p>
+ * Evictions are applied to the local caches, and sent to the other nodes with a PostgreSQL {@code NOTIFY} issued in
+ * the current transaction: PostgreSQL only delivers it once the transaction is committed, and drops it on rollback.
+ * Each node listens to the channel on a dedicated connection, and evicts the entries sent by the other nodes.
+ * <p>
+ * Entities are evicted the same way from the Hibernate second-level cache, which is local to each node too.
+ */
+@Service
+public class CacheInvalidationService implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private static final char KEY_SEPARATOR = '\t';
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    /**
+     * Prefix of the entity names in the payloads, to tell them from the names of the Spring caches.
+     */
+    static final String ENTITY_PREFIX = "entity:";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public CacheInvalidationService(
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        JdbcTemplate jdbcTemplate,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = applicationProperties.getCache().getInvalidation();
+        if (!CHANNEL_PATTERN.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + properties.getChannel());
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Evict entries from a cache on every node.
+     * <p>
+     * The local entries are evicted now, and again once the transaction is committed, as a request made before the
+     * commit would have cached what it saw before the change. The other nodes evict them once the transaction is
+     * committed, with one notification for as many entries as fit in it.
+     *
+     * @param cacheName the name of the cache.
+     * @param keys the keys of the entries.
+     */
+    @Transactional
+    public void evict(String cacheName, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evictIfPresent);
+        }
+        pendingEvictions().computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).addAll(keys);
+    }
+
+    /**
+     * Evict entities, with the collections they own, from the second-level cache of every node, as
+     * {@link #evict(String, Collection)} does for the entries of a cache.
+     *
+     * @param entityClass the class of the entities.
+     * @param ids the ids of the entities, which are {@link Long}s for all the entities of this application.
+     */
+    @Transactional
+    public void evictEntities(Class<?> entityClass, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String entityName = sessionFactory().getMappingMetamodel().getEntityDescriptor(entityClass).getEntityName();
+        ids.forEach(id -> evictEntityLocally(entityName, id));
+        Set<String> keys = pendingEvictions().computeIfAbsent(ENTITY_PREFIX + entityName, name -> new LinkedHashSet<>());
+        ids.forEach(id -> keys.add(String.valueOf(id)));
+    }
+
+    private Map<String, Set<String>> pendingEvictions() {
+        @SuppressWarnings("unchecked")
+        Map<String, Set<String>> evictions = (Map<String, Set<String>>) TransactionSynchronizationManager.getResource(this);
+        if (evictions != null) {
+            return evictions;
+        }
+        Map<String, Set<String>> newEvictions = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, newEvictions);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (properties.isEnabled()) {
+                        encode(nodeId, newEvictions).forEach(payload ->
+                            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, properties.getChannel(), payload)
+                        );
+                    }
+                }
+
+                @Override
+                public void afterCommit() {
+                    newEvictions.forEach((cacheName, keys) -> keys.forEach(key -> evictLocally(cacheName, key)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationService.this);
+                }
+            }
+        );
+        return newEvictions;
+    }
+
+    private void evictLocally(String cacheName, String key) {
+        if (cacheName.startsWith(ENTITY_PREFIX)) {
+            evictEntityLocally(cacheName.substring(ENTITY_PREFIX.length()), Long.valueOf(key));
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evictIfPresent(key);
+        }
+    }
+
+    private void evictEntityLocally(String entityName, Long id) {
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister == null) {
+            return;
+        }
+        sessionFactory.getCache().evictEntityData(entityName, id);
+        persister.forEachAttributeMapping(attribute -> {
+            if (attribute.isPluralAttributeMapping()) {
+                PluralAttributeMapping collection = attribute.asPluralAttributeMapping();
+                if (collection.getCollectionDescriptor().hasCache()) {
+                    sessionFactory.getCache().evictCollectionData(collection.getCollectionDescriptor().getRole(), id);
+                }
+            }
+        });
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    /**
+     * Encode evictions as notification payloads: the sender node id on the first line, then one line per entry with the
+     * cache name and the key separated by a tab. Evictions which do not fit in one payload are split over several.
+     */
+    static List<String> encode(String nodeId, Map<String, Set<String>> evictions) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        int payloadBytes = utf8Length(nodeId);
+        for (Map.Entry<String, Set<String>> entry : evictions.entrySet()) {
+            for (String key : entry.getValue()) {
+                String line = LINE_SEPARATOR + entry.getKey() + KEY_SEPARATOR + key;
+                int lineBytes = utf8Length(line);
+                if (payloadBytes + lineBytes > MAX_PAYLOAD_BYTES && payload.length() > nodeId.length()) {
+                    payloads.add(payload.toString());
+                    payload.setLength(0);
+                    payload.append(nodeId);
+                    payloadBytes = utf8Length(nodeId);
+                }
+                payload.append(line);
+                payloadBytes += lineBytes;
+            }
+        }
+        if (payload.length() > nodeId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Apply the evictions of a notification payload, unless this node sent it.
+     */
+    void onNotification(String payload) {
+        String[] lines = payload.split(String.valueOf(LINE_SEPARATOR));
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(KEY_SEPARATOR);
+            if (separator > 0) {
+                evictLocally(lines[i].substring(0, separator), lines[i].substring(separator + 1));
+            }
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (
+                Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword()
+                )
+            ) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                if (reconnecting) {
+                    // Notifications sent while disconnected are lost
+                    LOG.info("Cache invalidation listener reconnected, clearing the caches");
+                    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    LOG.warn("Cache invalidation listener disconnected, reconnecting in {}", properties.getReconnectDelay(), e);
+                    reconnecting = true;
+                    sleep();
+                }
+            }
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        listener.interrupt();
+        try {
+            listener.join(POLL_TIMEOUT_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ocean.store.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code cacheWarmup} health indicator, which keeps the node out of service until the {@link CacheWarmupService} is
+ * done.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService) {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmupService.State state = cacheWarmupService.getState();
+        Health.Builder health = state == CacheWarmupService.State.PENDING || state == CacheWarmupService.State.RUNNING
+            ? Health.outOfService()
+            : Health.up();
+        return health
+            .withDetail("state", state)
+            .withDetail("loadedUsers", cacheWarmupService.getLoadedUsers())
+            .withDetail("totalUsers", cacheWarmupService.getTotalUsers())
+            .build();
+    }
+}
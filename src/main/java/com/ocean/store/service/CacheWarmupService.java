@@ -0,0 +1,151 @@
+package com.ocean.store.service;
+
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.domain.User;
+import com.ocean.store.repository.AuthorityRepository;
+import com.ocean.store.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service loading the most used data into the caches when the application starts, so that a new node does not send
+ * all its first requests to the database.
+ * <p>
+ * It runs in the background once the caches are created, and the {@code cacheWarmup} readiness health indicator keeps
+ * the node out of service until it is done. Users are loaded in bulk, most recently modified first, as the database
+ * does not record logins; loading them also fills the Hibernate caches of users and of their authorities. Then, when
+ * {@code application.cache.warmup.hot-path-iterations} is set, the {@link HotPathWarmupService} runs the lookups of the
+ * loaded users.
+ */
+@Service
+public class CacheWarmupService implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    /**
+     * States of the warm-up.
+     */
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED,
+        DISABLED,
+    }
+
+    private final UserRepository userRepository;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final CacheManager cacheManager;
+
+    private final Executor taskExecutor;
+
+    private final HotPathWarmupService hotPathWarmupService;
+
+    private final ApplicationProperties.Cache.Warmup properties;
+
+    private volatile State state = State.PENDING;
+
+    private volatile int loadedUsers;
+
+    private volatile int totalUsers;
+
+    public CacheWarmupService(
+        UserRepository userRepository,
+        AuthorityRepository authorityRepository,
+        CacheManager cacheManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        HotPathWarmupService hotPathWarmupService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userRepository = userRepository;
+        this.authorityRepository = authorityRepository;
+        this.cacheManager = cacheManager;
+        this.taskExecutor = taskExecutor;
+        this.hotPathWarmupService = hotPathWarmupService;
+        this.properties = applicationProperties.getCache().getWarmup();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getLoadedUsers() {
+        return loadedUsers;
+    }
+
+    public int getTotalUsers() {
+        return totalUsers;
+    }
+
+    /**
+     * Load all authorities and the most recently modified activated users into the caches.
+     */
+    public void warmUp() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        try {
+            authorityRepository.findAll();
+
+            Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+            Cache usersByEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+            List<Long> ids = userRepository.findRecentlyModifiedActivatedUserIds(PageRequest.of(0, properties.getUsers()));
+            totalUsers = ids.size();
+            List<String> logins = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+                List<Long> batch = ids.subList(from, Math.min(from + properties.getBatchSize(), ids.size()));
+                for (User user : userRepository.findAllWithAuthoritiesByIdIn(batch)) {
+                    logins.add(user.getLogin());
+                    if (usersByLogin != null) {
+                        usersByLogin.putIfAbsent(user.getLogin(), user);
+                    }
+                    if (usersByEmail != null && user.getEmail() != null) {
+                        usersByEmail.putIfAbsent(user.getEmail(), user);
+                    }
+                }
+                loadedUsers += batch.size();
+            }
+            LOG.info("Cache warm-up loaded {} users in {} ms", loadedUsers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            hotPathWarmupService.warmUp(logins, properties.getHotPathIterations());
+            state = State.DONE;
+        } catch (RuntimeException e) {
+            // The caches fill up on demand anyway, so a failed warm-up must not keep the node out of service
+            state = State.FAILED;
+            LOG.warn("Cache warm-up failed after loading {} users", loadedUsers, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (state != State.PENDING) {
+            return;
+        }
+        if (!properties.isEnabled()) {
+            state = State.DISABLED;
+            return;
+        }
+        state = State.RUNNING;
+        taskExecutor.execute(this::warmUp);
+    }
+
+    @Override
+    public void stop() {
+        // The warm-up only reads, it can be abandoned at any time
+    }
+
+    @Override
+    public boolean isRunning() {
+        return state != State.PENDING;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ocean.store.service;
+
+import static com.ocean.store.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.ocean.store.security.CachingJwtDecoder;
+import com.ocean.store.security.DomainUserDetailsService;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service running the code of the most frequent requests when the application starts, so that the JIT compiles it
+ * before the node gets traffic, and the first requests are not slower than the next ones.
+ * <p>
+ * It runs the lookups of a login (user details, account) and the round trip of a token through the JWT encoder and
+ * decoder. It is called by the {@link CacheWarmupService} once the users are loaded into the caches, so that the
+ * lookups hit the caches as the requests will.
+ * <p>
+ * The tokens are verified by the decoder behind the {@link CachingJwtDecoder}: tokens issued in the same second are
+ * the same, and would otherwise be cache hits, with no signature verification, counted in the token cache meters.
+ * The account is read with the authentication of a request made with the token.
+ */
+@Service
+public class HotPathWarmupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HotPathWarmupService.class);
+
+    private final DomainUserDetailsService userDetailsService;
+
+    private final UserService userService;
+
+    private final JwtEncoder jwtEncoder;
+
+    private final JwtDecoder jwtDecoder;
+
+    public HotPathWarmupService(
+        DomainUserDetailsService userDetailsService,
+        UserService userService,
+        JwtEncoder jwtEncoder,
+        JwtDecoder jwtDecoder
+    ) {
+        this.userDetailsService = userDetailsService;
+        this.userService = userService;
+        this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder instanceof CachingJwtDecoder cachingJwtDecoder ? cachingJwtDecoder.getDelegate() : jwtDecoder;
+    }
+
+    /**
+     * Run the lookups of the given logins in turn, and token round trips, a number of times.
+     *
+     * @param logins the logins of users in the caches.
+     * @param iterations the number of times to run them.
+     */
+    public void warmUp(List<String> logins, int iterations) {
+        if (logins.isEmpty() || iterations <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
+        for (int i = 0; i < iterations; i++) {
+            String login = logins.get(i % logins.size());
+            userDetailsService.loadUserByUsername(login);
+
+            Instant now = Instant.now();
+            JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.MINUTES))
+                .subject(login)
+                .build();
+            Jwt jwt = jwtDecoder.decode(jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue());
+
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(new JwtAuthenticationToken(jwt));
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                userService.getAccount();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+        LOG.info("Hot path warm-up ran {} iterations in {} ms", iterations, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
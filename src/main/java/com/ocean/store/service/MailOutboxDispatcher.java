@@ -0,0 +1,192 @@
+package com.ocean.store.service;
+
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.domain.MailOutboxMessage;
+import com.ocean.store.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service sending the emails of the mail outbox.
+ * <p>
+ * Each batch of due messages is claimed in a short transaction: the messages are locked with {@code SKIP LOCKED} and
+ * their next attempt is pushed back by a {@code lease}, so that the other nodes skip them once the locks are released.
+ * The emails of a batch are then sent over one SMTP connection, outside of any transaction, and the sent messages are
+ * deleted in another one. A message which can not be sent is retried with an exponential backoff, and kept as a dead
+ * letter after {@code max-attempts}, or at once when its email can not be created. A message claimed by a node which
+ * stops before sending it is sent by another node once its lease has ended.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final MailService mailService;
+
+    private final JavaMailSender javaMailSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final Counter sentMessages;
+
+    private final Counter retriedMessages;
+
+    private final Counter deadLetters;
+
+    private final Timer deliveryDelay;
+
+    private volatile long pendingMessages;
+
+    private volatile double oldestPendingAge;
+
+    public MailOutboxDispatcher(
+        MailOutboxRepository mailOutboxRepository,
+        @Lazy MailService mailService,
+        JavaMailSender javaMailSender,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailService = mailService;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getMailOutbox();
+        this.sentMessages = Counter.builder("mail.outbox.sent").description("Indicates the number of emails sent.").register(meterRegistry);
+        this.retriedMessages = Counter.builder("mail.outbox.retried")
+            .description("Indicates the number of emails which could not be sent, and will be retried.")
+            .register(meterRegistry);
+        this.deadLetters = Counter.builder("mail.outbox.dead.letters")
+            .description("Indicates the number of emails which will not be retried.")
+            .register(meterRegistry);
+        this.deliveryDelay = Timer.builder("mail.outbox.delay")
+            .description("Indicates the time between the creation of an email and its sending.")
+            .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", this, dispatcher -> dispatcher.pendingMessages)
+            .description("Indicates the number of emails waiting to be sent.")
+            .register(meterRegistry);
+        Gauge.builder("mail.outbox.oldest.age", this, dispatcher -> dispatcher.oldestPendingAge)
+            .description("Indicates the age of the oldest email waiting to be sent, in seconds.")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Send the due messages of the outbox, batch after batch while batches are fully sent.
+     * <p>
+     * It runs on the mail scheduler, so that a slow SMTP server does not hold the threads of the other scheduled jobs.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval}", scheduler = "mailScheduler")
+    public void dispatch() {
+        int sent;
+        do {
+            sent = dispatchBatch(transactionTemplate.execute(status -> claimDueMessages()));
+        } while (sent == properties.getBatchSize());
+        MailOutboxRepository.PendingMessages pending = mailOutboxRepository.findPendingMessages();
+        pendingMessages = pending.getCount();
+        oldestPendingAge = pending.getOldestCreatedDate() == null
+            ? 0
+            : Duration.between(pending.getOldestCreatedDate(), Instant.now()).toMillis() / 1000d;
+    }
+
+    private List<MailOutboxMessage> claimDueMessages() {
+        Instant now = Instant.now();
+        List<MailOutboxMessage> outboxMessages = mailOutboxRepository.lockDueMessages(now, properties.getBatchSize());
+        Instant leaseEnd = now.plus(properties.getLease());
+        outboxMessages.forEach(outboxMessage -> outboxMessage.setNextAttemptDate(leaseEnd));
+        return outboxMessages;
+    }
+
+    private int dispatchBatch(List<MailOutboxMessage> outboxMessages) {
+        if (outboxMessages.isEmpty()) {
+            return 0;
+        }
+        Map<MimeMessage, MailOutboxMessage> emails = new LinkedHashMap<>();
+        for (MailOutboxMessage outboxMessage : outboxMessages) {
+            try {
+                emails.put(mailService.createEmail(outboxMessage), outboxMessage);
+            } catch (Exception e) {
+                LOG.error("Email could not be created for user '{}', it will not be retried", outboxMessage.getLogin(), e);
+                fail(outboxMessage, e, true);
+            }
+        }
+        List<MailOutboxMessage> sent = new ArrayList<>(emails.values());
+        try {
+            if (!emails.isEmpty()) {
+                javaMailSender.send(emails.keySet().toArray(MimeMessage[]::new));
+            }
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                emails.values().forEach(outboxMessage -> fail(outboxMessage, e, false));
+                sent.clear();
+            }
+            failedMessages.forEach((email, exception) -> {
+                MailOutboxMessage outboxMessage = emails.get(email);
+                if (outboxMessage != null) {
+                    fail(outboxMessage, exception, false);
+                    sent.remove(outboxMessage);
+                }
+            });
+        } catch (MailException e) {
+            emails.values().forEach(outboxMessage -> fail(outboxMessage, e, false));
+            sent.clear();
+        }
+        List<MailOutboxMessage> failed = outboxMessages.stream().filter(outboxMessage -> !sent.contains(outboxMessage)).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            mailOutboxRepository.deleteAllInBatch(sent);
+            mailOutboxRepository.saveAll(failed);
+        });
+        Instant now = Instant.now();
+        sent.forEach(outboxMessage -> deliveryDelay.record(Duration.between(outboxMessage.getCreatedDate(), now)));
+        sentMessages.increment(sent.size());
+        LOG.debug("Sent {} of {} emails of the mail outbox", sent.size(), outboxMessages.size());
+        return sent.size();
+    }
+
+    private void fail(MailOutboxMessage outboxMessage, Exception e, boolean poison) {
+        outboxMessage.setAttempts(outboxMessage.getAttempts() + 1);
+        outboxMessage.setLastError(StringUtils.abbreviate(String.valueOf(e.getMessage()), MAX_ERROR_LENGTH));
+        if (poison || outboxMessage.getAttempts() >= properties.getMaxAttempts()) {
+            outboxMessage.setDeadLetterDate(Instant.now());
+            deadLetters.increment();
+            if (!poison) {
+                LOG.error("Email could not be sent to user '{}' after {} attempts", outboxMessage.getLogin(), outboxMessage.getAttempts());
+            }
+            return;
+        }
+        outboxMessage.setNextAttemptDate(Instant.now().plus(backoff(outboxMessage.getAttempts())));
+        retriedMessages.increment();
+        LOG.warn("Email could not be sent to user '{}', retrying: {}", outboxMessage.getLogin(), e.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
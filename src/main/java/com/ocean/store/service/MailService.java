@@ -1,62 +1,53 @@
 package com.ocean.store.service;
 
+import com.ocean.store.domain.MailOutboxMessage;
 import com.ocean.store.domain.User;
+import com.ocean.store.repository.MailOutboxRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
- * Service for sending emails asynchronously.
+ * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails about users are written to the mail outbox, in the transaction changing the user, so that they are not lost;
+ * the {@link MailOutboxDispatcher} sends them.
  */
 @Service
 public class MailService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
-
-    private static final String BASE_URL = "baseUrl";
-
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
 
-    private final MessageSource messageSource;
+    private final MailTemplateRenderer mailTemplateRenderer;
 
-    private final SpringTemplateEngine templateEngine;
+    private final MailOutboxRepository mailOutboxRepository;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailTemplateRenderer mailTemplateRenderer,
+        MailOutboxRepository mailOutboxRepository
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailTemplateRenderer = mailTemplateRenderer;
+        this.mailOutboxRepository = mailOutboxRepository;
     }
 
-    @Async
-    public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
-        sendEmailSync(to, subject, content, isMultipart, isHtml);
-    }
-
-    private void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+    private MimeMessage createEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
         LOG.debug(
             "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
@@ -68,53 +59,60 @@ public class MailService {
 
         // Prepare message using a Spring helper
         MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            LOG.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            LOG.warn("Email could not be sent to user '{}'", to, e);
-        }
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
     }
 
-    @Async
-    public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-        sendEmailFromTemplateSync(user, templateName, titleKey);
+    /**
+     * Create the email of an outbox message.
+     *
+     * @param outboxMessage the outbox message.
+     * @return the email.
+     * @throws MessagingException if the email can not be created.
+     */
+    MimeMessage createEmail(MailOutboxMessage outboxMessage) throws MessagingException {
+        Locale locale = Locale.forLanguageTag(outboxMessage.getLangKey());
+        MailUserView user = new MailUserView(outboxMessage.getLogin(), outboxMessage.getActivationKey(), outboxMessage.getResetKey());
+        String content = mailTemplateRenderer.renderContent(outboxMessage.getTemplate(), locale, user);
+        String subject = mailTemplateRenderer.renderSubject(outboxMessage.getTitleKey(), locale);
+        return createEmail(outboxMessage.getRecipient(), subject, content, false, true);
     }
 
-    private void sendEmailFromTemplateSync(User user, String templateName, String titleKey) {
-        if (user.getEmail() == null) {
-            LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
-            return;
-        }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmailSync(user.getEmail(), subject, content, false, true);
-    }
-
-    @Async
+    @Transactional
     public void sendActivationEmail(User user) {
         LOG.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplateSync(user, "mail/activationEmail", "email.activation.title");
+        addToOutbox(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
+    @Transactional
     public void sendCreationEmail(User user) {
         LOG.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplateSync(user, "mail/creationEmail", "email.activation.title");
+        addToOutbox(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
+    @Transactional
     public void sendPasswordResetMail(User user) {
         LOG.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
+        addToOutbox(user, "mail/passwordResetEmail", "email.reset.title");
+    }
+
+    private void addToOutbox(User user, String templateName, String titleKey) {
+        if (user.getEmail() == null) {
+            LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return;
+        }
+        MailOutboxMessage outboxMessage = new MailOutboxMessage();
+        outboxMessage.setTemplate(templateName);
+        outboxMessage.setTitleKey(titleKey);
+        outboxMessage.setRecipient(user.getEmail());
+        outboxMessage.setLogin(user.getLogin());
+        outboxMessage.setLangKey(user.getLangKey());
+        outboxMessage.setActivationKey(user.getActivationKey());
+        outboxMessage.setResetKey(user.getResetKey());
+        mailOutboxRepository.save(outboxMessage);
     }
 }
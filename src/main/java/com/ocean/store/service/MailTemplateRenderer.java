@@ -0,0 +1,76 @@
+package com.ocean.store.service;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service rendering the subject and content of the emails sent to users.
+ * <p>
+ * Templates are processed with only the user values they use bound, and parsed once thanks to the Thymeleaf template
+ * cache. Subjects are resolved once per locale when the templates are cached (see {@code spring.thymeleaf.cache}).
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final String baseUrl;
+
+    private final boolean cache;
+
+    private final ConcurrentMap<String, String> subjects = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(
+        SpringTemplateEngine templateEngine,
+        MessageSource messageSource,
+        JHipsterProperties jHipsterProperties,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.baseUrl = jHipsterProperties.getMail().getBaseUrl();
+        this.cache = thymeleafProperties.isCache();
+    }
+
+    /**
+     * Render the subject of an email.
+     *
+     * @param titleKey the message key of the subject.
+     * @param locale the locale of the email.
+     * @return the subject.
+     */
+    public String renderSubject(String titleKey, Locale locale) {
+        if (!cache) {
+            return messageSource.getMessage(titleKey, null, locale);
+        }
+        return subjects.computeIfAbsent(titleKey + '|' + locale.toLanguageTag(), key -> messageSource.getMessage(titleKey, null, locale));
+    }
+
+    /**
+     * Render the content of an email.
+     *
+     * @param templateName the name of the template.
+     * @param locale the locale of the email.
+     * @param user the user values of the email.
+     * @return the content.
+     */
+    public String renderContent(String templateName, Locale locale, MailUserView user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, baseUrl);
+        return templateEngine.process(templateName, context);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ocean.store.service;
+
+import com.ocean.store.domain.User;
+
+/**
+ * Immutable view of the user values the email templates use, bound to them as {@code user}.
+ */
+public final class MailUserView {
+
+    private final String login;
+
+    private final String activationKey;
+
+    private final String resetKey;
+
+    public MailUserView(String login, String activationKey, String resetKey) {
+        this.login = login;
+        this.activationKey = activationKey;
+        this.resetKey = resetKey;
+    }
+
+    public static MailUserView of(User user) {
+        return new MailUserView(user.getLogin(), user.getActivationKey(), user.getResetKey());
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getActivationKey() {
+        return activationKey;
+    }
+
+    public String getResetKey() {
+        return resetKey;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MailUserView{" +
+            "login='" + login + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,28 @@
+package com.ocean.store.service;
+
+import com.ocean.store.security.DomainUserDetailsService.UserWithId;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Store the password hashes Spring Security re-computes on login, when the password encoder settings have changed.
+ * <p>
+ * The database update is done asynchronously, so that it does not slow down the login request.
+ */
+@Service
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserService userService;
+
+    public PasswordUpgradeService(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userService.upgradePasswordHash(user.getUsername(), user.getPassword(), newPassword);
+        Long id = user instanceof UserWithId userWithId ? userWithId.getId() : null;
+        return new UserWithId(user.getUsername(), newPassword, user.getAuthorities(), id);
+    }
+}
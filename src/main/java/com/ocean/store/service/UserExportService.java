@@ -0,0 +1,275 @@
+package com.ocean.store.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ocean.store.config.ApplicationProperties;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting all users, with their authorities.
+ * <p>
+ * Users are read through a forward-only database cursor, and each one is written as soon as its rows are read, so that
+ * the memory used does not depend on the number of users. The PostgreSQL driver only fetches the rows
+ * {@code fetch-size} at a time inside a transaction, otherwise it reads the whole result set at once.
+ */
+@Service
+public class UserExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserExportService.class);
+
+    private static final String EXPORT_QUERY =
+        "SELECT u.id, u.login, u.first_name, u.last_name, u.email, u.image_url, u.activated, u.lang_key, u.created_by, " +
+        "u.created_date, u.last_modified_by, u.last_modified_date, ua.authority_name " +
+        "FROM jhi_user u LEFT JOIN jhi_user_authority ua ON ua.user_id = u.id " +
+        "ORDER BY u.id, ua.authority_name";
+
+    private static final String[] FIELDS = {
+        "id",
+        "login",
+        "firstName",
+        "lastName",
+        "email",
+        "imageUrl",
+        "activated",
+        "langKey",
+        "createdBy",
+        "createdDate",
+        "lastModifiedBy",
+        "lastModifiedDate",
+    };
+
+    private static final String AUTHORITIES_FIELD = "authorities";
+
+    /**
+     * First characters of the CSV values which spreadsheets read as formulas.
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .setRootValueSeparator(null);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserExportService(DataSource dataSource, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(applicationProperties.getUserExport().getFetchSize());
+    }
+
+    /**
+     * Write all users, ordered by id, to a stream. The stream is flushed but not closed.
+     *
+     * @param format the format of the export.
+     * @param outputStream the stream to write to.
+     * @return the number of users written.
+     * @throws IOException if the stream can not be written to.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(UserFileFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        UserWriter userWriter = format == UserFileFormat.CSV ? new CsvUserWriter(writer) : new NdjsonUserWriter(writer);
+        UserRowHandler rowHandler = new UserRowHandler(userWriter);
+        userWriter.writeHeader();
+        try {
+            jdbcTemplate.query(EXPORT_QUERY, rowHandler);
+            rowHandler.writeLastUser();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        userWriter.flush();
+        LOG.debug("Exported {} users as {}", rowHandler.exportedUsers, format);
+        return rowHandler.exportedUsers;
+    }
+
+    /**
+     * Gathers the rows of each user, one per authority, which are consecutive as they are ordered by user id.
+     */
+    private static final class UserRowHandler implements RowCallbackHandler {
+
+        private final UserWriter userWriter;
+
+        private final Object[] values = new Object[FIELDS.length];
+
+        private final List<String> authorities = new ArrayList<>();
+
+        private Long userId;
+
+        private long exportedUsers;
+
+        private UserRowHandler(UserWriter userWriter) {
+            this.userWriter = userWriter;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (userId == null || userId != id) {
+                writeLastUser();
+                userId = id;
+                for (int i = 0; i < FIELDS.length; i++) {
+                    Object value = rs.getObject(i + 1);
+                    if (value instanceof Timestamp) {
+                        // Timestamps are stored in UTC, see hibernate.jdbc.time_zone
+                        value = rs.getObject(i + 1, LocalDateTime.class).toInstant(ZoneOffset.UTC).toString();
+                    }
+                    values[i] = value;
+                }
+                authorities.clear();
+            }
+            String authority = rs.getString(FIELDS.length + 1);
+            if (authority != null) {
+                authorities.add(authority);
+            }
+        }
+
+        private void writeLastUser() {
+            if (userId == null) {
+                return;
+            }
+            try {
+                userWriter.write(values, authorities);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            exportedUsers++;
+        }
+    }
+
+    /**
+     * Prefix a CSV value with {@code '} when spreadsheets would evaluate it as a formula, so that it is kept as text.
+     * Values which already look prefixed are prefixed again, so that {@link #fromCsvText(String)} restores any value.
+     */
+    static String toCsvText(String value) {
+        boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+        return formula || isCsvText(value) ? '\'' + value : value;
+    }
+
+    /**
+     * Remove the {@code '} prefix added by {@link #toCsvText(String)}.
+     */
+    static String fromCsvText(String text) {
+        return isCsvText(text) ? text.substring(1) : text;
+    }
+
+    private static boolean isCsvText(String text) {
+        return text.length() > 1 && text.charAt(0) == '\'' && (text.charAt(1) == '\'' || FORMULA_PREFIXES.indexOf(text.charAt(1)) >= 0);
+    }
+
+    private interface UserWriter {
+        void writeHeader() throws IOException;
+
+        void write(Object[] values, List<String> authorities) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonUserWriter implements UserWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonUserWriter(Writer writer) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(writer);
+        }
+
+        @Override
+        public void writeHeader() {
+            // Each line describes itself
+        }
+
+        @Override
+        public void write(Object[] values, List<String> authorities) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < FIELDS.length; i++) {
+                generator.writeFieldName(FIELDS[i]);
+                if (values[i] instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else if (values[i] instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else if (values[i] == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeString(values[i].toString());
+                }
+            }
+            generator.writeArrayFieldStart(AUTHORITIES_FIELD);
+            for (String authority : authorities) {
+                generator.writeString(authority);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvUserWriter implements UserWriter {
+
+        private static final String LINE_SEPARATOR = "\r\n";
+
+        private final Writer writer;
+
+        private CsvUserWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", FIELDS));
+            writer.write(',');
+            writer.write(AUTHORITIES_FIELD);
+            writer.write(LINE_SEPARATOR);
+        }
+
+        @Override
+        public void write(Object[] values, List<String> authorities) throws IOException {
+            for (Object value : values) {
+                if (value != null) {
+                    writeField(value.toString());
+                }
+                writer.write(',');
+            }
+            writeField(String.join(" ", authorities));
+            writer.write(LINE_SEPARATOR);
+        }
+
+        private void writeField(String value) throws IOException {
+            String text = toCsvText(value);
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ocean.store.service;
+
+/**
+ * Formats of the user exports and imports.
+ */
+public enum UserFileFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+    /**
+     * RFC 4180 CSV with a header line, authorities separated by spaces.
+     */
+    CSV,
+}
@@ -0,0 +1,384 @@
+package com.ocean.store.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.config.Constants;
+import com.ocean.store.domain.Authority;
+import com.ocean.store.domain.User;
+import com.ocean.store.repository.AuthorityRepository;
+import com.ocean.store.repository.UserRepository;
+import com.ocean.store.service.dto.UserImportDTO;
+import com.ocean.store.service.dto.UserImportReportDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import tech.jhipster.security.RandomUtil;
+
+/**
+ * Service importing users in bulk.
+ * <p>
+ * Rows are read from the stream and validated one by one, then imported by chunks: the logins and emails of a chunk
+ * are checked with one query each, passwords are hashed on all cores, and the users are inserted in JDBC batches in
+ * one transaction per chunk. Rows which can not be imported are reported, the others are imported.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String LOGIN_ALREADY_USED = "Login name already used!";
+
+    private static final String EMAIL_ALREADY_USED = "Email is already in use!";
+
+    private static final String LOGIN_OR_EMAIL_ALREADY_USED = "Login name or email already used!";
+
+    private static final String AUTHORITIES_COLUMN = "authorities";
+
+    private final UserService userService;
+
+    private final UserRepository userRepository;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    public UserImportService(
+        UserService userService,
+        UserRepository userRepository,
+        AuthorityRepository authorityRepository,
+        PasswordEncoder passwordEncoder,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.authorityRepository = authorityRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = applicationProperties.getUserImport().getChunkSize();
+    }
+
+    /**
+     * Import users from a stream. Users without a password get a reset key, as users created by an administrator.
+     *
+     * @param format the format of the stream.
+     * @param inputStream the stream to read from.
+     * @return the number of imported users, and the rows which were not imported.
+     * @throws IOException if the stream can not be read.
+     */
+    public UserImportReportDTO importUsers(UserFileFormat format, InputStream inputStream) throws IOException {
+        Map<String, Authority> authorities = authorityRepository
+            .findAll()
+            .stream()
+            .collect(Collectors.toMap(Authority::getName, Function.identity()));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        RowReader rowReader = format == UserFileFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+        UserImportReportDTO report = new UserImportReportDTO();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = rowReader.next(report)) != null) {
+            if (isValid(row, authorities, report)) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, authorities, report);
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(chunk, authorities, report);
+        LOG.info("Imported {} users, {} rows rejected", report.getImported(), report.getErrors().size());
+        return report;
+    }
+
+    private boolean isValid(ImportRow row, Map<String, Authority> authorities, UserImportReportDTO report) {
+        UserImportDTO user = row.user;
+        Set<ConstraintViolation<UserImportDTO>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            String message = violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            report.addError(row.line, user.getLogin(), message);
+            return false;
+        }
+        if (user.getAuthorities() != null) {
+            for (String authority : user.getAuthorities()) {
+                if (!authorities.containsKey(authority)) {
+                    report.addError(row.line, user.getLogin(), "Unknown authority: " + authority);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void importChunk(List<ImportRow> chunk, Map<String, Authority> authorities, UserImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> usedLogins = new HashSet<>(
+            userRepository.findExistingLogins(chunk.stream().map(row -> row.user.getLogin().toLowerCase(Locale.ROOT)).toList())
+        );
+        Set<String> usedEmails = new HashSet<>(
+            userRepository.findExistingUpperCaseEmails(
+                chunk.stream().filter(row -> row.user.getEmail() != null).map(row -> row.user.getEmail().toUpperCase(Locale.ROOT)).toList()
+            )
+        );
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String login = row.user.getLogin().toLowerCase(Locale.ROOT);
+            String email = row.user.getEmail() == null ? null : row.user.getEmail().toUpperCase(Locale.ROOT);
+            if (usedLogins.contains(login)) {
+                report.addError(row.line, row.user.getLogin(), LOGIN_ALREADY_USED);
+            } else if (email != null && usedEmails.contains(email)) {
+                report.addError(row.line, row.user.getLogin(), EMAIL_ALREADY_USED);
+            } else {
+                // Also rejects the next rows of the chunk with the same login or email
+                usedLogins.add(login);
+                if (email != null) {
+                    usedEmails.add(email);
+                }
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // BCrypt takes most of the time of an import
+        List<User> users = accepted.parallelStream().map(row -> toUser(row.user, authorities)).toList();
+        try {
+            userService.createUsers(users);
+            report.addImported(users.size());
+        } catch (DataIntegrityViolationException e) {
+            // A user was created with the same login or email since the check: find out which one by creating them one at a time
+            LOG.debug("Chunk of {} users conflicts with existing users, importing them one at a time", users.size());
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    userService.createUsers(List.of(user));
+                    report.addImported(1);
+                } catch (DataIntegrityViolationException userException) {
+                    report.addError(accepted.get(i).line, user.getLogin(), LOGIN_OR_EMAIL_ALREADY_USED);
+                }
+            }
+        }
+    }
+
+    private User toUser(UserImportDTO userDTO, Map<String, Authority> authorities) {
+        User user = new User();
+        user.setLogin(userDTO.getLogin().toLowerCase(Locale.ROOT));
+        user.setFirstName(userDTO.getFirstName());
+        user.setLastName(userDTO.getLastName());
+        if (userDTO.getEmail() != null) {
+            user.setEmail(userDTO.getEmail().toLowerCase(Locale.ROOT));
+        }
+        user.setImageUrl(userDTO.getImageUrl());
+        user.setLangKey(userDTO.getLangKey() == null ? Constants.DEFAULT_LANGUAGE : userDTO.getLangKey());
+        user.setActivated(userDTO.isActivated());
+        if (userDTO.getPassword() == null) {
+            user.setPassword(passwordEncoder.encode(RandomUtil.generatePassword()));
+            user.setResetKey(RandomUtil.generateResetKey());
+            user.setResetDate(Instant.now());
+        } else {
+            user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        }
+        if (userDTO.getAuthorities() != null) {
+            user.setAuthorities(userDTO.getAuthorities().stream().map(authorities::get).collect(Collectors.toSet()));
+        }
+        return user;
+    }
+
+    private static final class ImportRow {
+
+        private final long line;
+
+        private final UserImportDTO user;
+
+        private ImportRow(long line, UserImportDTO user) {
+            this.line = line;
+            this.user = user;
+        }
+    }
+
+    private interface RowReader {
+        /**
+         * Read the next row, reporting the rows which can not be parsed.
+         *
+         * @return the row, or {@code null} at the end of the stream.
+         */
+        ImportRow next(UserImportReportDTO report) throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private long line;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next(UserImportReportDTO report) throws IOException {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                line++;
+                if (json.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ImportRow(line, objectMapper.readValue(json, UserImportDTO.class));
+                } catch (JsonProcessingException e) {
+                    report.addError(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private final class CsvRowReader implements RowReader {
+
+        private final CsvReader reader;
+
+        private List<String> columns;
+
+        private CsvRowReader(BufferedReader reader) {
+            this.reader = new CsvReader(reader);
+        }
+
+        @Override
+        public ImportRow next(UserImportReportDTO report) throws IOException {
+            if (columns == null) {
+                columns = reader.next();
+                if (columns == null) {
+                    return null;
+                }
+            }
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                    continue;
+                }
+                if (fields.size() != columns.size()) {
+                    report.addError(reader.getRecordLine(), null, "Expected " + columns.size() + " fields, found " + fields.size());
+                    continue;
+                }
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    String field = UserExportService.fromCsvText(fields.get(i));
+                    if (field.isEmpty()) {
+                        continue;
+                    }
+                    String column = columns.get(i);
+                    values.put(column, AUTHORITIES_COLUMN.equals(column) ? Arrays.asList(field.trim().split("\\s+")) : field);
+                }
+                try {
+                    return new ImportRow(reader.getRecordLine(), objectMapper.convertValue(values, UserImportDTO.class));
+                } catch (IllegalArgumentException e) {
+                    report.addError(reader.getRecordLine(), (String) values.get("login"), "Invalid row: " + e.getMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reader of RFC 4180 CSV records, whose quoted fields may contain commas, quotes and line breaks.
+     */
+    private static final class CsvReader {
+
+        private static final int END = -1;
+
+        private final BufferedReader reader;
+
+        private long line = 1;
+
+        private long recordLine;
+
+        private CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        long getRecordLine() {
+            return recordLine;
+        }
+
+        /**
+         * @return the fields of the next record, or {@code null} at the end of the stream.
+         */
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == END) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != END) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ocean.store.service;
+
+import com.ocean.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service deleting the users who never activated their account.
+ * <p>
+ * Users are deleted by chunks, each in its own short transaction, with a pause between chunks so that a large purge
+ * does not hold locks for long nor saturate the database.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private final UserService userService;
+
+    private final ApplicationProperties.UserPurge properties;
+
+    private final Counter purgedUsers;
+
+    private final Timer chunkTimer;
+
+    public UserPurgeService(UserService userService, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.properties = applicationProperties.getUserPurge();
+        this.purgedUsers = Counter.builder("users.purged")
+            .description("Indicates the number of not activated users deleted.")
+            .register(meterRegistry);
+        this.chunkTimer = Timer.builder("users.purge.chunk")
+            .description("Indicates the time spent deleting a chunk of not activated users.")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Not activated users should be automatically deleted after 3 days.
+     * <p>
+     * This is scheduled to get fired every day, at 01:00 (am).
+     */
+    @Scheduled(cron = "0 0 1 * * ?")
+    public void removeNotActivatedUsers() {
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        long start = System.nanoTime();
+        long removed = 0;
+        int chunkRemoved;
+        do {
+            chunkRemoved = chunkTimer.record(() -> userService.removeNotActivatedUsers(createdBefore, properties.getChunkSize()));
+            purgedUsers.increment(chunkRemoved);
+            removed += chunkRemoved;
+            if (chunkRemoved == properties.getChunkSize()) {
+                LOG.debug("Deleted {} not activated users so far", removed);
+                if (!pause()) {
+                    break;
+                }
+            }
+        } while (chunkRemoved == properties.getChunkSize());
+        if (removed > 0) {
+            LOG.info("Deleted {} not activated users in {} ms", removed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
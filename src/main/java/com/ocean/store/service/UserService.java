@@ -3,10 +3,14 @@ package com.ocean.store.service;
 import com.ocean.store.config.Constants;
 import com.ocean.store.domain.Authority;
 import com.ocean.store.domain.User;
+import com.ocean.store.management.CacheMetersService;
 import com.ocean.store.repository.AuthorityRepository;
 import com.ocean.store.repository.UserRepository;
+import com.ocean.store.repository.UserRepository.UserIdentity;
 import com.ocean.store.security.AuthoritiesConstants;
+import com.ocean.store.security.DomainUserDetailsService;
 import com.ocean.store.security.SecurityUtils;
+import com.ocean.store.service.dto.AccountDTO;
 import com.ocean.store.service.dto.AdminUserDTO;
 import com.ocean.store.service.dto.UserDTO;
 import java.time.Instant;
@@ -15,12 +19,19 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -31,6 +42,8 @@ import tech.jhipster.security.RandomUtil;
 @Transactional
 public class UserService {
 
+    public static final String ACCOUNTS_BY_LOGIN_CACHE = "accountsByLogin";
+
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -41,16 +54,28 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final CacheMetersService cacheMetersService;
+
+    private final MailService mailService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationService cacheInvalidationService,
+        CacheMetersService cacheMetersService,
+        @Lazy MailService mailService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.cacheMetersService = cacheMetersService;
+        this.mailService = mailService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -89,27 +114,28 @@ public class UserService {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
                 this.clearUserCaches(user);
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
 
     public User registerUser(AdminUserDTO userDTO, String password) {
-        userRepository
-            .findOneByLogin(userDTO.getLogin().toLowerCase())
-            .ifPresent(existingUser -> {
-                boolean removed = removeNonActivatedUser(existingUser);
-                if (!removed) {
-                    throw new UsernameAlreadyUsedException();
-                }
-            });
-        userRepository
-            .findOneByEmailIgnoreCase(userDTO.getEmail())
-            .ifPresent(existingUser -> {
-                boolean removed = removeNonActivatedUser(existingUser);
-                if (!removed) {
-                    throw new EmailAlreadyUsedException();
-                }
-            });
+        List<UserIdentity> existingUsers = userRepository.findIdentitiesByLoginOrEmailIgnoreCase(
+            userDTO.getLogin().toLowerCase(),
+            userDTO.getEmail()
+        );
+        for (UserIdentity existingUser : existingUsers) {
+            if (existingUser.isActivated() && existingUser.hasLogin(userDTO.getLogin())) {
+                throw new UsernameAlreadyUsedException();
+            }
+        }
+        for (UserIdentity existingUser : existingUsers) {
+            if (existingUser.isActivated()) {
+                throw new EmailAlreadyUsedException();
+            }
+        }
+        // Only the users who never activated their account are left, they can be replaced
+        existingUsers.forEach(existingUser -> userRepository.findById(existingUser.getId()).ifPresent(this::removeNonActivatedUser));
         User newUser = new User();
         String encryptedPassword = passwordEncoder.encode(password);
         newUser.setLogin(userDTO.getLogin().toLowerCase());
@@ -131,6 +157,7 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         this.clearUserCaches(newUser);
+        mailService.sendActivationEmail(newUser);
         LOG.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -176,10 +203,34 @@ public class UserService {
         }
         userRepository.save(user);
         this.clearUserCaches(user);
+        mailService.sendCreationEmail(user);
         LOG.debug("Created Information for User: {}", user);
         return user;
     }
 
+    /**
+     * Create users in bulk, in JDBC batches of {@code hibernate.jdbc.batch_size}.
+     * <p>
+     * Their logins and emails must not be used yet, and their passwords must already be hashed.
+     *
+     * @param users the users to create, with their authorities.
+     */
+    public void createUsers(List<User> users) {
+        for (User user : users) {
+            user.setAuthorities(
+                user
+                    .getAuthorities()
+                    .stream()
+                    .map(authority -> authorityRepository.getReferenceById(authority.getName()))
+                    .collect(Collectors.toSet())
+            );
+        }
+        userRepository.saveAll(users);
+        userRepository.flush();
+        this.clearUserCaches(users);
+        LOG.debug("Created {} Users", users.size());
+    }
+
     /**
      * Update all information for a specific user, and return the modified user.
      *
@@ -270,40 +321,111 @@ public class UserService {
             });
     }
 
+    /**
+     * Replace the password hash of a user by one computed with the current password encoder settings.
+     * <p>
+     * This is called after a successful login, in the background. The hash is only replaced if it has not been
+     * changed in the meantime, for example by a password reset.
+     *
+     * @param login the login of the user.
+     * @param currentEncryptedPassword the hash the user logged in with.
+     * @param newEncryptedPassword the new hash of the same password.
+     */
+    @Async("passwordUpgradeExecutor")
+    public void upgradePasswordHash(String login, String currentEncryptedPassword, String newEncryptedPassword) {
+        userRepository
+            .findOneByLogin(login)
+            .filter(user -> currentEncryptedPassword.equals(user.getPassword()))
+            .ifPresent(user -> {
+                user.setPassword(newEncryptedPassword);
+                this.clearUserCaches(user);
+                LOG.debug("Upgraded password hash for User: {}", user);
+            });
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public Window<AdminUserDTO> getAllManagedUsers(ScrollPosition position, Sort sort, int size) {
+        return userRepository.findAllByIdNotNull(position, sort, Limit.of(size)).map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
     @Transactional(readOnly = true)
+    public Window<UserDTO> getAllPublicUsers(ScrollPosition position, Sort sort, int size) {
+        return userRepository.findAllByIdNotNullAndActivatedIsTrue(position, sort, Limit.of(size)).map(UserDTO::new);
+    }
+
+    // Not read-only, as it fills the users cache, which must not get rows from a lagging replica
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
     }
 
-    @Transactional(readOnly = true)
+    // Not read-only either, see getUserWithAuthoritiesByLogin
     public Optional<User> getUserWithAuthorities() {
         return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
     }
 
     /**
-     * Not activated users should be automatically deleted after 3 days.
+     * Get the account of the current user from the account cache, loading it only on a cache miss.
      * <p>
-     * This is scheduled to get fired every day, at 01:00 (am).
+     * This runs outside of any transaction, so that a cache hit does not open a session nor borrow a connection.
+     *
+     * @return the account of the current user.
      */
-    @Scheduled(cron = "0 0 1 * * ?")
-    public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                LOG.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                this.clearUserCaches(user);
-            });
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<AccountDTO> getAccount() {
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getAccountByLogin);
+    }
+
+    /**
+     * Get the account of a user, from the accounts cache when it is there.
+     *
+     * @param login the login of the user.
+     * @return the account.
+     */
+    private Optional<AccountDTO> getAccountByLogin(String login) {
+        Cache accounts = cacheManager.getCache(ACCOUNTS_BY_LOGIN_CACHE);
+        AccountDTO account = accounts != null ? accounts.get(login, AccountDTO.class) : null;
+        if (account != null) {
+            return Optional.of(account);
+        }
+        Optional<AccountDTO> loaded = cacheMetersService.timeCacheLoad(ACCOUNTS_BY_LOGIN_CACHE, () ->
+            userRepository.findOneWithAuthoritiesByLogin(login).map(AccountDTO::new)
+        );
+        if (accounts != null) {
+            loaded.ifPresent(a -> accounts.put(login, a));
+        }
+        return loaded;
+    }
+
+    /**
+     * Delete some of the not activated users created before a date, with one statement for all of them.
+     *
+     * @param createdBefore the date before which the users were created.
+     * @param limit the maximum number of users to delete.
+     * @return the number of deleted users.
+     */
+    public int removeNotActivatedUsers(Instant createdBefore, int limit) {
+        List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
+            createdBefore,
+            Limit.of(limit)
+        );
+        if (users.isEmpty()) {
+            return 0;
+        }
+        // Hibernate also deletes the authorities of the users, and invalidates their second level cache regions
+        userRepository.deleteAllByIdInBatch(users.stream().map(User::getId).toList());
+        this.clearUserCaches(users);
+        LOG.debug("Deleted {} not activated users", users.size());
+        return users.size();
     }
 
     /**
@@ -315,10 +437,28 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
 
+    /**
+     * Evict a user from the caches of every node, including the remembered unknown logins and emails, and the
+     * second-level cache.
+     */
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
-        if (user.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
-        }
+        clearUserCaches(List.of(user));
+    }
+
+    /**
+     * Evict users from the caches of every node, including the remembered unknown logins and emails, and the
+     * second-level cache.
+     */
+    private void clearUserCaches(Collection<User> users) {
+        List<String> logins = users.stream().map(User::getLogin).toList();
+        List<String> emails = users.stream().map(User::getEmail).filter(Objects::nonNull).toList();
+        cacheInvalidationService.evict(UserRepository.USERS_BY_LOGIN_CACHE, logins);
+        cacheInvalidationService.evict(ACCOUNTS_BY_LOGIN_CACHE, logins);
+        cacheInvalidationService.evict(UserRepository.USERS_BY_EMAIL_CACHE, emails);
+        List<String> unknownUsersKeys = new ArrayList<>(logins.size() + emails.size());
+        logins.forEach(login -> unknownUsersKeys.add(DomainUserDetailsService.unknownLoginKey(login)));
+        emails.forEach(email -> unknownUsersKeys.add(DomainUserDetailsService.unknownEmailKey(email)));
+        cacheInvalidationService.evict(DomainUserDetailsService.UNKNOWN_USERS_CACHE, unknownUsersKeys);
+        cacheInvalidationService.evictEntities(User.class, users.stream().map(User::getId).filter(Objects::nonNull).toList());
     }
 }
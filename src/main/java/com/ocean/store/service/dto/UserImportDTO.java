@@ -0,0 +1,34 @@
+package com.ocean.store.service.dto;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * A DTO representing a user to import, with an optional clear text password.
+ * <p>
+ * Imported users are activated unless stated otherwise.
+ */
+public class UserImportDTO extends AdminUserDTO {
+
+    private static final long serialVersionUID = 1L;
+
+    @Size(min = 4, max = 100)
+    private String password;
+
+    public UserImportDTO() {
+        setActivated(true);
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserImportDTO{" + super.toString() + "} ";
+    }
+}
@@ -0,0 +1,69 @@
+package com.ocean.store.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A DTO representing the result of a user import: the number of imported users, and the rows which were not imported.
+ */
+public class UserImportReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long imported;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public void addError(long line, String login, String message) {
+        errors.add(new RowError(line, login, message));
+    }
+
+    /**
+     * A row which was not imported.
+     */
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long line;
+
+        private final String login;
+
+        private final String message;
+
+        public RowError(long line, String login, String message) {
+            this.line = line;
+            this.login = login;
+            this.message = message;
+        }
+
+        /**
+         * @return the line of the row in the imported file, starting at 1.
+         */
+        public long getLine() {
+            return line;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -2,9 +2,10 @@ package com.ocean.store.web.rest;
 
 import com.ocean.store.domain.User;
 import com.ocean.store.repository.UserRepository;
+import com.ocean.store.repository.UserRepository.UserIdentity;
 import com.ocean.store.security.SecurityUtils;
-import com.ocean.store.service.MailService;
 import com.ocean.store.service.UserService;
+import com.ocean.store.service.dto.AccountDTO;
 import com.ocean.store.service.dto.AdminUserDTO;
 import com.ocean.store.service.dto.PasswordChangeDTO;
 import com.ocean.store.web.rest.errors.*;
@@ -38,12 +39,9 @@ public class AccountResource {
 
     private final UserService userService;
 
-    private final MailService mailService;
-
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    public AccountResource(UserRepository userRepository, UserService userService) {
         this.userRepository = userRepository;
         this.userService = userService;
-        this.mailService = mailService;
     }
 
     /**
@@ -60,8 +58,7 @@ public class AccountResource {
         if (isPasswordLengthInvalid(managedUserVM.getPassword())) {
             throw new InvalidPasswordException();
         }
-        User user = userService.registerUser(managedUserVM, managedUserVM.getPassword());
-        mailService.sendActivationEmail(user);
+        userService.registerUser(managedUserVM, managedUserVM.getPassword());
     }
 
     /**
@@ -85,11 +82,8 @@ public class AccountResource {
      * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
      */
     @GetMapping("/account")
-    public AdminUserDTO getAccount() {
-        return userService
-            .getUserWithAuthorities()
-            .map(AdminUserDTO::new)
-            .orElseThrow(() -> new AccountResourceException("User could not be found"));
+    public AccountDTO getAccount() {
+        return userService.getAccount().orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
     /**
@@ -103,12 +97,15 @@ public class AccountResource {
     public void saveAccount(@Valid @RequestBody AdminUserDTO userDTO) {
         String userLogin = SecurityUtils.getCurrentUserLogin()
             .orElseThrow(() -> new AccountResourceException("Current user login not found"));
-        Optional<User> existingUser = userRepository.findOneByEmailIgnoreCase(userDTO.getEmail());
-        if (existingUser.isPresent() && (!existingUser.orElseThrow().getLogin().equalsIgnoreCase(userLogin))) {
+        List<UserIdentity> existingUsers = userRepository.findIdentitiesByLoginOrEmailIgnoreCase(userLogin, userDTO.getEmail());
+        if (
+            existingUsers
+                .stream()
+                .anyMatch(existingUser -> existingUser.hasEmail(userDTO.getEmail()) && !existingUser.hasLogin(userLogin))
+        ) {
             throw new EmailAlreadyUsedException();
         }
-        Optional<User> user = userRepository.findOneByLogin(userLogin);
-        if (!user.isPresent()) {
+        if (existingUsers.stream().noneMatch(existingUser -> existingUser.hasLogin(userLogin))) {
             throw new AccountResourceException("User could not be found");
         }
         userService.updateUser(
@@ -141,10 +138,7 @@ public class AccountResource {
      */
     @PostMapping(path = "/account/reset-password/init")
     public void requestPasswordReset(@RequestBody String mail) {
-        Optional<User> user = userService.requestPasswordReset(mail);
-        if (user.isPresent()) {
-            mailService.sendPasswordResetMail(user.orElseThrow());
-        } else {
+        if (userService.requestPasswordReset(mail).isEmpty()) {
             // Pretend the request has been successful to prevent checking which emails really exist
             // but log that an invalid attempt has been made
             LOG.warn("Password reset requested for non existing mail");
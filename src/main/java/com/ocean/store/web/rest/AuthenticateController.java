@@ -6,11 +6,15 @@ import static com.ocean.store.security.SecurityUtils.USER_ID_CLAIM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ocean.store.security.DomainUserDetailsService.UserWithId;
+import com.ocean.store.security.LoginVerificationExecutor;
+import com.ocean.store.web.rest.errors.LoginCapacityExceededException;
 import com.ocean.store.web.rest.vm.LoginVM;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +26,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -48,24 +51,46 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final LoginVerificationExecutor loginVerificationExecutor;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        LoginVerificationExecutor loginVerificationExecutor
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.loginVerificationExecutor = loginVerificationExecutor;
     }
 
+    /**
+     * {@code POST /authenticate} : authenticate a user, and return a token.
+     * <p>
+     * The credentials are verified on the login verification pool, and the request thread is released meanwhile.
+     *
+     * @param loginVM the credentials.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the token, once the credentials are verified.
+     * @throws LoginCapacityExceededException {@code 503 (Service Unavailable)} if too many logins are being verified.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        CompletableFuture<Authentication> authentication;
+        try {
+            authentication = loginVerificationExecutor.authenticate(authenticationManagerBuilder.getObject(), authenticationToken);
+        } catch (RejectedExecutionException e) {
+            throw new LoginCapacityExceededException();
+        }
+        return authentication.thenApply(authenticated -> {
+            String jwt = this.createToken(authenticated, loginVM.isRememberMe());
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.setBearerAuth(jwt);
+            return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        });
     }
 
     /**
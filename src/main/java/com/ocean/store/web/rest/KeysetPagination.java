@@ -0,0 +1,123 @@
+package com.ocean.store.web.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ocean.store.domain.User;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for the keyset pagination of users.
+ * <p>
+ * Instead of skipping the rows of the previous pages, a page starts right after the sort keys of the last user of the
+ * previous page. Those keys are sent to the client as an opaque cursor, in the {@code next} link of the {@code Link}
+ * header, and no total count is computed.
+ */
+final class KeysetPagination {
+
+    static final String CURSOR_PARAMETER = "cursor";
+
+    /**
+     * Sortable properties whose columns can not be null: rows with a null key would be skipped by the seek condition.
+     */
+    private static final Set<String> KEYSET_ORDERED_PROPERTIES = Set.of("id", "login", "activated", "createdBy");
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private KeysetPagination() {}
+
+    /**
+     * Get the sort of a keyset page, which is by id unless requested otherwise.
+     *
+     * @param sort the requested sort.
+     * @return the sort, or empty if it contains a property which can not be used for keyset pagination.
+     */
+    static Optional<Sort> keysetSort(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Optional.of(Sort.by(ID_PROPERTY));
+        }
+        if (sort.stream().map(Sort.Order::getProperty).allMatch(KEYSET_ORDERED_PROPERTIES::contains)) {
+            return Optional.of(sort);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Decode a cursor into the position of a page.
+     *
+     * @param cursor the cursor, empty for the first page.
+     * @param sort the sort of the page.
+     * @return the position, or empty if the cursor is invalid or was built for another sort.
+     */
+    static Optional<ScrollPosition> decodeCursor(String cursor, Sort sort) {
+        if (cursor.isEmpty()) {
+            return Optional.of(ScrollPosition.keyset());
+        }
+        Set<String> properties = new LinkedHashSet<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        properties.add(ID_PROPERTY);
+        try {
+            Map<String, Object> keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {});
+            if (!keys.keySet().equals(properties)) {
+                return Optional.empty();
+            }
+            Map<String, Object> typedKeys = new LinkedHashMap<>();
+            for (String property : properties) {
+                Object key = CONVERSION_SERVICE.convert(keys.get(property), BeanUtils.findPropertyType(property, User.class));
+                if (key == null) {
+                    return Optional.empty();
+                }
+                typedKeys.put(property, key);
+            }
+            return Optional.of(ScrollPosition.forward(typedKeys));
+        } catch (IllegalArgumentException | IOException | ConversionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Generate the {@code Link} header pointing to the page after a window, if there is one.
+     *
+     * @param uriBuilder the URI of the current page.
+     * @param window the current page.
+     * @return the headers.
+     */
+    static HttpHeaders generateNextLinkHeader(UriComponentsBuilder uriBuilder, Window<?> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty() && window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position) {
+            String link = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(CURSOR_PARAMETER, encodeCursor(position))
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    static String encodeCursor(KeysetScrollPosition position) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(position.getKeys()));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,21 +36,40 @@ public class PublicUserResource {
     /**
      * {@code GET /users} : get all users with only public information - calling this method is allowed for anyone.
      *
+     * @param cursor the position of the page when paginating by keyset, empty for the first page, or {@code null} to
+     * paginate by offset. Only sorts on {@code id}, {@code login}, {@code activated} and {@code createdBy} are supported.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllPublicUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<UserDTO>> getAllPublicUsers(
+        @RequestParam(name = KeysetPagination.CURSOR_PARAMETER, required = false) String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
         LOG.debug("REST request to get all public User names");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
+        if (cursor != null) {
+            return getUsersAfterCursor(cursor, pageable);
+        }
 
         final Page<UserDTO> page = userService.getAllPublicUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    private ResponseEntity<List<UserDTO>> getUsersAfterCursor(String cursor, Pageable pageable) {
+        Optional<Sort> sort = KeysetPagination.keysetSort(pageable.getSort());
+        Optional<ScrollPosition> position = sort.flatMap(keysetSort -> KeysetPagination.decodeCursor(cursor, keysetSort));
+        if (position.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Window<UserDTO> window = userService.getAllPublicUsers(position.orElseThrow(), sort.orElseThrow(), pageable.getPageSize());
+        HttpHeaders headers = KeysetPagination.generateNextLinkHeader(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
@@ -3,29 +3,42 @@ package com.ocean.store.web.rest;
 import com.ocean.store.config.Constants;
 import com.ocean.store.domain.User;
 import com.ocean.store.repository.UserRepository;
+import com.ocean.store.repository.UserRepository.UserIdentity;
 import com.ocean.store.security.AuthoritiesConstants;
-import com.ocean.store.service.MailService;
+import com.ocean.store.service.UserExportService;
+import com.ocean.store.service.UserFileFormat;
+import com.ocean.store.service.UserImportService;
 import com.ocean.store.service.UserService;
 import com.ocean.store.service.dto.AdminUserDTO;
+import com.ocean.store.service.dto.UserImportReportDTO;
 import com.ocean.store.web.rest.errors.BadRequestAlertException;
 import com.ocean.store.web.rest.errors.EmailAlreadyUsedException;
 import com.ocean.store.web.rest.errors.LoginAlreadyUsedException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -84,12 +97,20 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
+    private final UserExportService userExportService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final UserImportService userImportService;
+
+    public UserResource(
+        UserService userService,
+        UserRepository userRepository,
+        UserExportService userExportService,
+        UserImportService userImportService
+    ) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
+        this.userExportService = userExportService;
+        this.userImportService = userImportService;
     }
 
     /**
@@ -111,14 +132,18 @@ public class UserResource {
 
         if (userDTO.getId() != null) {
             throw new BadRequestAlertException("A new user cannot already have an ID", "userManagement", "idexists");
-            // Lowercase the user login before comparing with database
-        } else if (userRepository.findOneByLogin(userDTO.getLogin().toLowerCase()).isPresent()) {
+        }
+        // Lowercase the user login before comparing with database
+        List<UserIdentity> existingUsers = userRepository.findIdentitiesByLoginOrEmailIgnoreCase(
+            userDTO.getLogin().toLowerCase(),
+            userDTO.getEmail()
+        );
+        if (existingUsers.stream().anyMatch(existingUser -> existingUser.hasLogin(userDTO.getLogin()))) {
             throw new LoginAlreadyUsedException();
-        } else if (userRepository.findOneByEmailIgnoreCase(userDTO.getEmail()).isPresent()) {
+        } else if (existingUsers.stream().anyMatch(existingUser -> existingUser.hasEmail(userDTO.getEmail()))) {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity.created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(HeaderUtil.createAlert(applicationName, "userManagement.created", newUser.getLogin()))
                 .body(newUser);
@@ -140,12 +165,15 @@ public class UserResource {
         @Valid @RequestBody AdminUserDTO userDTO
     ) {
         LOG.debug("REST request to update User : {}", userDTO);
-        Optional<User> existingUser = userRepository.findOneByEmailIgnoreCase(userDTO.getEmail());
-        if (existingUser.isPresent() && (!existingUser.orElseThrow().getId().equals(userDTO.getId()))) {
+        List<UserIdentity> otherUsers = userRepository
+            .findIdentitiesByLoginOrEmailIgnoreCase(userDTO.getLogin().toLowerCase(), userDTO.getEmail())
+            .stream()
+            .filter(existingUser -> !existingUser.getId().equals(userDTO.getId()))
+            .toList();
+        if (otherUsers.stream().anyMatch(existingUser -> existingUser.hasEmail(userDTO.getEmail()))) {
             throw new EmailAlreadyUsedException();
         }
-        existingUser = userRepository.findOneByLogin(userDTO.getLogin().toLowerCase());
-        if (existingUser.isPresent() && (!existingUser.orElseThrow().getId().equals(userDTO.getId()))) {
+        if (otherUsers.stream().anyMatch(existingUser -> existingUser.hasLogin(userDTO.getLogin()))) {
             throw new LoginAlreadyUsedException();
         }
         Optional<AdminUserDTO> updatedUser = userService.updateUser(userDTO);
@@ -159,26 +187,120 @@ public class UserResource {
     /**
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
      *
+     * @param cursor the position of the page when paginating by keyset, empty for the first page, or {@code null} to
+     * paginate by offset. Only sorts on {@code id}, {@code login}, {@code activated} and {@code createdBy} are supported.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @RequestParam(name = KeysetPagination.CURSOR_PARAMETER, required = false) String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
         LOG.debug("REST request to get all User for an admin");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
+        if (cursor != null) {
+            return getUsersAfterCursor(cursor, pageable);
+        }
 
         final Page<AdminUserDTO> page = userService.getAllManagedUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    private ResponseEntity<List<AdminUserDTO>> getUsersAfterCursor(String cursor, Pageable pageable) {
+        Optional<Sort> sort = KeysetPagination.keysetSort(pageable.getSort());
+        Optional<ScrollPosition> position = sort.flatMap(keysetSort -> KeysetPagination.decodeCursor(cursor, keysetSort));
+        if (position.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Window<AdminUserDTO> window = userService.getAllManagedUsers(
+            position.orElseThrow(),
+            sort.orElseThrow(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPagination.generateNextLinkHeader(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
 
+    /**
+     * {@code GET /admin/users-export} : export all users with their authorities, ordered by id.
+     * <p>
+     * Users are written to the response while they are read from the database, so the export is not paginated.
+     *
+     * @param format {@code ndjson} for one JSON object per line, or {@code csv}.
+     * @param gzip whether to compress the response with gzip.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the users, or with status {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @GetMapping("/users-export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+        @RequestParam(name = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        LOG.debug("REST request to export all Users as {}", format);
+        Optional<UserFileFormat> exportFormat = Arrays.stream(UserFileFormat.values())
+            .filter(value -> value.name().equalsIgnoreCase(format))
+            .findFirst();
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        String extension = exportFormat.orElseThrow().name().toLowerCase(Locale.ROOT);
+        headers.setContentDisposition(ContentDisposition.attachment().filename("users." + extension).build());
+        if (exportFormat.orElseThrow() == UserFileFormat.CSV) {
+            headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        } else {
+            headers.setContentType(MediaType.APPLICATION_NDJSON);
+        }
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+                userExportService.exportUsers(exportFormat.orElseThrow(), gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                userExportService.exportUsers(exportFormat.orElseThrow(), outputStream);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code POST /admin/users-import} : import users in bulk.
+     * <p>
+     * The body is in CSV or NDJSON, as the export, with an optional {@code password} column or field; {@code id} and
+     * audit columns are ignored. CSV values prefixed with {@code '} by the export to be kept as text by spreadsheets are
+     * read without the prefix. Users without a password get a reset key, and no mail is sent.
+     *
+     * @param contentType {@code text/csv} or {@code application/x-ndjson}.
+     * @param inputStream the users to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of imported users and the rows which were not imported.
+     * @throws IOException if the body can not be read.
+     */
+    @PostMapping(value = "/users-import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<UserImportReportDTO> importUsers(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream inputStream
+    ) throws IOException {
+        LOG.debug("REST request to import Users as {}", contentType);
+        UserFileFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+            ? UserFileFormat.NDJSON
+            : UserFileFormat.CSV;
+        return ResponseEntity.ok(userImportService.importUsers(format, inputStream));
+    }
+
     /**
      * {@code GET /admin/users/:login} : get the "login" user.
      *
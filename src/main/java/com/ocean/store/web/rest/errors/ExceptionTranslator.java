@@ -10,12 +10,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -49,6 +51,8 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final boolean CASUAL_CHAIN_ENABLED = false;
+    private static final String USER_LOGIN_CONSTRAINT = "ux_user_login";
+    private static final String USER_EMAIL_CONSTRAINT = "ux_user_email";
 
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionTranslator.class);
 
@@ -97,9 +101,33 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
         ) return problemDetailWithCause;
+        if (ex instanceof DataIntegrityViolationException) {
+            ProblemDetailWithCause uniqueConstraintProblem = getUniqueConstraintProblem(ex);
+            if (uniqueConstraintProblem != null) return uniqueConstraintProblem;
+        }
         return ProblemDetailWithCauseBuilder.instance().withStatus(toStatus(ex).value()).build();
     }
 
+    /**
+     * Map the violation of a unique constraint on users, which the login and email checks can not prevent when two
+     * requests use the same login or email concurrently, to the error those checks would have raised.
+     */
+    @Nullable
+    private ProblemDetailWithCause getUniqueConstraintProblem(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException constraintViolation && constraintViolation.getConstraintName() != null) {
+                String constraintName = constraintViolation.getConstraintName();
+                if (USER_LOGIN_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+                    return (ProblemDetailWithCause) new LoginAlreadyUsedException().getBody();
+                }
+                if (USER_EMAIL_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+                    return (ProblemDetailWithCause) new EmailAlreadyUsedException().getBody();
+                }
+            }
+        }
+        return null;
+    }
+
     protected ProblemDetailWithCause customizeProblem(ProblemDetailWithCause problem, Throwable err, NativeWebRequest request) {
         if (problem.getStatus() <= 0) problem.setStatus(toStatus(err));
 
@@ -225,15 +253,19 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
-        return err instanceof BadRequestAlertException badRequestAlertException
-            ? HeaderUtil.createFailureAlert(
+        if (err instanceof BadRequestAlertException badRequestAlertException) {
+            return HeaderUtil.createFailureAlert(
                 applicationName,
                 true,
                 badRequestAlertException.getEntityName(),
                 badRequestAlertException.getErrorKey(),
                 badRequestAlertException.getMessage()
-            )
-            : null;
+            );
+        }
+        if (err instanceof ErrorResponse errorResponse && !errorResponse.getHeaders().isEmpty()) {
+            return errorResponse.getHeaders();
+        }
+        return null;
     }
 
     public Optional<ProblemDetailWithCause> buildCause(final Throwable throwable, NativeWebRequest request) {
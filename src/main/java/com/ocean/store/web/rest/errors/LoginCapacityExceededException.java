@@ -0,0 +1,27 @@
+package com.ocean.store.web.rest.errors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class LoginCapacityExceededException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    public LoginCapacityExceededException() {
+        super(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .withType(ErrorConstants.LOGIN_CAPACITY_EXCEEDED_TYPE)
+                .withTitle("Too many login attempts, please retry later")
+                .build(),
+            null
+        );
+        getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    }
+}
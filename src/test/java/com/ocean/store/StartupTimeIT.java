@@ -0,0 +1,152 @@
+package com.ocean.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ocean.store.config.PostgreSqlTestContainer;
+import com.ocean.store.config.SqlTestContainer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+
+/**
+ * Startup benchmark: starts the packaged application in a new JVM, as a new node does when scaling out, and measures
+ * the time until it is ready to serve requests.
+ * <p>
+ * It only runs with {@code -Dstartup.benchmark=true}, on a quiet machine, as the time to ready depends on the load.
+ * It runs the application JAR given by {@code -Dstartup.application-jar}, set by the build. When the JAR was built
+ * with the {@code aot} Maven profile, it runs the extracted application from {@code target/cds} instead, with its
+ * generated initialization code and its CDS archive, as in the image.
+ * <p>
+ * It fails when the time to ready is over the budget, set with {@code -Dstartup.budget} as an ISO-8601 duration.
+ * The result is written to {@code target/startup-result.json}. More options can be given to the JVM with
+ * {@code -Dstartup.jvm-args}.
+ */
+@EnabledIfSystemProperty(named = "startup.benchmark", matches = "true")
+class StartupTimeIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTimeIT.class);
+
+    private static final Duration DEFAULT_BUDGET = Duration.ofSeconds(30);
+
+    /**
+     * Logged once the application is started and ready, see {@link OceanStoreApp#main(String[])}.
+     */
+    private static final String READY_LOG = "' is running!";
+
+    /**
+     * The CDS archive written by the training run of the {@code aot} Maven profile, next to the extracted JAR.
+     */
+    private static final String CDS_ARCHIVE = "application.jsa";
+
+    private SqlTestContainer database;
+
+    @BeforeEach
+    void setup() throws Exception {
+        database = new PostgreSqlTestContainer();
+        database.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        database.destroy();
+    }
+
+    @Test
+    void shouldBeReadyWithinBudget() throws Exception {
+        Duration budget = Duration.parse(System.getProperty("startup.budget", DEFAULT_BUDGET.toString()));
+        Path applicationJar = Path.of(System.getProperty("startup.application-jar"));
+        List<String> jvmArgs = new ArrayList<>();
+        String extraJvmArgs = System.getProperty("startup.jvm-args", "").trim();
+        if (!extraJvmArgs.isEmpty()) {
+            jvmArgs.addAll(Arrays.asList(extraJvmArgs.split("\\s+")));
+        }
+        Path cdsDirectory = applicationJar.resolveSibling("cds");
+        if (Files.exists(cdsDirectory.resolve(CDS_ARCHIVE))) {
+            // Built with the aot Maven profile: the archive only matches the class path of the extracted JAR
+            jvmArgs.addAll(List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Dspring.aot.enabled=true"));
+            applicationJar = cdsDirectory.resolve(applicationJar.getFileName());
+        }
+
+        Duration timeToReady = timeToReady(applicationJar, jvmArgs, budget.multipliedBy(3));
+
+        LOG.info("Ready in {} ms, with a budget of {} ms and JVM options {}", timeToReady.toMillis(), budget.toMillis(), jvmArgs);
+        Files.writeString(
+            Path.of("target", "startup-result.json"),
+            String.format(
+                "{\"timeToReadyMs\":%d,\"budgetMs\":%d,\"jvmArgs\":\"%s\"}%n",
+                timeToReady.toMillis(),
+                budget.toMillis(),
+                String.join(" ", jvmArgs).replace("\\", "\\\\").replace("\"", "\\\"")
+            )
+        );
+        assertThat(timeToReady).isLessThanOrEqualTo(budget);
+    }
+
+    private Duration timeToReady(Path applicationJar, List<String> jvmArgs, Duration timeout) throws Exception {
+        JdbcDatabaseContainer<?> container = database.getTestContainer();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(
+            List.of(
+                "-jar",
+                applicationJar.getFileName().toString(),
+                // With the profiles the JAR was built with
+                "--server.port=0",
+                "--spring.datasource.url=" + container.getJdbcUrl(),
+                "--spring.datasource.username=" + container.getUsername(),
+                "--spring.datasource.password=" + container.getPassword()
+            )
+        );
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .directory(applicationJar.toAbsolutePath().getParent().toFile())
+            .redirectErrorStream(true)
+            .start();
+        try {
+            CompletableFuture<Long> ready = CompletableFuture.supplyAsync(() -> readUntilReady(process));
+            return Duration.ofNanos(ready.get(timeout.toMillis(), TimeUnit.MILLISECONDS) - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the application logged that it is ready.
+     */
+    private static long readUntilReady(Process process) {
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.contains(READY_LOG)) {
+                    return System.nanoTime();
+                }
+                LOG.debug("{}", line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException("The application exited with code " + process.onExit().join().exitValue() + " before being ready");
+    }
+}
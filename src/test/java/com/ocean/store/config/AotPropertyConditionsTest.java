@@ -0,0 +1,44 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for the {@link AotPropertyConditions}.
+ */
+class AotPropertyConditionsTest {
+
+    @Test
+    void shouldAcceptOutcomesOfTheBuild() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("application.cache.disk-directory", "/var/cache/ocean-store")
+            .withProperty("spring.main.lazy-initialization", "false");
+        Properties buildOutcomes = AotPropertyConditions.outcomes(
+            new MockEnvironment().withProperty("application.cache.disk-directory", "/tmp/cache")
+        );
+
+        assertThatCode(() -> AotPropertyConditions.verify(buildOutcomes, environment)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectOutcomesDifferentFromTheBuild() {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.main.lazy-initialization", "true");
+        Properties buildOutcomes = AotPropertyConditions.outcomes(new MockEnvironment());
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> AotPropertyConditions.verify(buildOutcomes, environment))
+            .withMessageContaining("'spring.main.lazy-initialization'");
+    }
+
+    @Test
+    void shouldTreatFalseAsUnset() {
+        MockEnvironment environment = new MockEnvironment().withProperty("application.datasource.replicas[0].url", "false");
+        Properties buildOutcomes = AotPropertyConditions.outcomes(new MockEnvironment());
+
+        assertThatCode(() -> AotPropertyConditions.verify(buildOutcomes, environment)).doesNotThrowAnyException();
+    }
+}
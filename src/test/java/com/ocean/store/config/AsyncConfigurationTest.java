@@ -0,0 +1,69 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Unit tests for the schedulers of the {@link AsyncConfiguration}.
+ */
+class AsyncConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class, TaskSchedulingAutoConfiguration.class))
+        .withPropertyValues("spring.task.scheduling.thread-name-prefix=ocean-store-scheduling-")
+        .withUserConfiguration(AsyncConfiguration.class, TestConfiguration.class);
+
+    @Test
+    void shouldRunScheduledMethodsOnTheirScheduler() {
+        contextRunner.run(context -> {
+            ScheduledJobs jobs = context.getBean(ScheduledJobs.class);
+            assertThat(jobs.defaultJob.get(10, TimeUnit.SECONDS)).startsWith("ocean-store-scheduling-");
+            assertThat(jobs.mailJob.get(10, TimeUnit.SECONDS)).startsWith("ocean-store-mail-");
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(ApplicationProperties.class)
+    static class TestConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ScheduledJobs scheduledJobs() {
+            return new ScheduledJobs();
+        }
+    }
+
+    static class ScheduledJobs {
+
+        private final CompletableFuture<String> defaultJob = new CompletableFuture<>();
+
+        private final CompletableFuture<String> mailJob = new CompletableFuture<>();
+
+        @Scheduled(fixedDelay = 60000)
+        void runDefaultJob() {
+            defaultJob.complete(Thread.currentThread().getName());
+        }
+
+        @Scheduled(fixedDelay = 60000, scheduler = AsyncConfiguration.MAIL_SCHEDULER)
+        void runMailJob() {
+            mailJob.complete(Thread.currentThread().getName());
+        }
+    }
+}
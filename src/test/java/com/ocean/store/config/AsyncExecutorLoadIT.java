@@ -0,0 +1,104 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Load test comparing the {@link AsyncConfiguration} task executor on platform threads, with the pool settings of
+ * {@code application.yml}, and on virtual threads.
+ * <p>
+ * Each task blocks as a JDBC query or an SMTP send would. Run it on Java 21 with the {@code virtual-threads} Maven profile:
+ * {@code ./mvnw -Pvirtual-threads verify -Dit.test=AsyncExecutorLoadIT}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class AsyncExecutorLoadIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncExecutorLoadIT.class);
+
+    private static final int TASKS = 2000;
+
+    private static final Duration BLOCKING_TIME = Duration.ofMillis(20);
+
+    @Test
+    void virtualThreadsShouldOutperformThreadPool() throws Exception {
+        LoadResult threadPool = runLoad(false);
+        LoadResult virtualThreads = runLoad(true);
+
+        LOG.info("Thread pool: {}", threadPool);
+        LOG.info("Virtual threads: {}", virtualThreads);
+        assertThat(virtualThreads.throughput()).isGreaterThan(threadPool.throughput());
+        assertThat(virtualThreads.p99()).isLessThan(threadPool.p99());
+    }
+
+    private static LoadResult runLoad(boolean virtualThreads) throws Exception {
+        TaskExecutionProperties properties = new TaskExecutionProperties();
+        properties.setThreadNamePrefix("load-test-");
+        properties.getPool().setCoreSize(2);
+        properties.getPool().setMaxSize(50);
+        properties.getPool().setQueueCapacity(10000);
+        MockEnvironment env = new MockEnvironment().withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        AsyncConfiguration asyncConfiguration = new AsyncConfiguration(
+            properties,
+            new ApplicationProperties(),
+            new SimpleMeterRegistry(),
+            env
+        );
+        Executor executor = asyncConfiguration.getAsyncExecutor();
+        if (executor instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+
+        try {
+            long[] latencies = new long[TASKS];
+            CountDownLatch done = new CountDownLatch(TASKS);
+            long start = System.nanoTime();
+            for (int i = 0; i < TASKS; i++) {
+                int task = i;
+                long submitted = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(BLOCKING_TIME.toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latencies[task] = System.nanoTime() - submitted;
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new LoadResult(
+                TASKS * 1_000_000_000.0 / elapsed,
+                Duration.ofNanos(latencies[(int) Math.ceil(TASKS * 0.99) - 1])
+            );
+        } finally {
+            if (executor instanceof DisposableBean disposableBean) {
+                disposableBean.destroy();
+            }
+        }
+    }
+
+    private record LoadResult(double throughput, Duration p99) {
+        @Override
+        public String toString() {
+            return String.format("%.0f tasks/s, p99 %d ms", throughput, p99.toMillis());
+        }
+    }
+}
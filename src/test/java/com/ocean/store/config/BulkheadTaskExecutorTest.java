@@ -0,0 +1,117 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ocean.store.config.ApplicationProperties.Async.SaturationPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Unit tests for the saturation policies and metrics of the {@link BulkheadTaskExecutor}.
+ */
+class BulkheadTaskExecutorTest {
+
+    private static final String NAME = "testExecutor";
+
+    private MeterRegistry meterRegistry;
+
+    private BulkheadTaskExecutor executor;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void cleanup() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectTasksWhenSaturated() throws InterruptedException {
+        saturate(SaturationPolicy.ABORT);
+
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+
+        assertThat(meterRegistry.get("executor.rejected").tag("name", NAME).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.active").tag("name", NAME).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDiscardTasksWhenSaturated() throws InterruptedException {
+        saturate(SaturationPolicy.DISCARD);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        assertThat(runner.get()).isNull();
+        assertThat(meterRegistry.get("executor.rejected").tag("name", NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunTasksOnCallerWhenSaturated() throws InterruptedException {
+        saturate(SaturationPolicy.CALLER_RUNS);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        assertThat(runner.get()).isSameAs(Thread.currentThread());
+        assertThat(meterRegistry.get("executor.rejected").tag("name", NAME).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor").tag("name", NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeQueuedAndRunningTasks() throws Exception {
+        executor = executor(SaturationPolicy.ABORT);
+
+        executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("executor.idle").tag("name", NAME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor").tag("name", NAME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.rejected").tag("name", NAME).counter().count()).isZero();
+    }
+
+    /**
+     * Keep the only thread busy and fill the queue of one task.
+     */
+    private void saturate(SaturationPolicy saturationPolicy) throws InterruptedException {
+        executor = executor(saturationPolicy);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> {});
+    }
+
+    private BulkheadTaskExecutor executor(SaturationPolicy saturationPolicy) {
+        BulkheadTaskExecutor bulkheadTaskExecutor = new BulkheadTaskExecutor(
+            NAME,
+            "test-",
+            new ApplicationProperties.Async.Executor(1, 1, 1, saturationPolicy),
+            meterRegistry
+        );
+        bulkheadTaskExecutor.initialize();
+        return bulkheadTaskExecutor;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import com.ocean.store.repository.UserRepository;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.management.ObjectName;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the per-cache sizing of the {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    @TempDir
+    private Path diskDirectory;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        applicationProperties = new ApplicationProperties();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(
+            diskDirectory.toUri(),
+            new DefaultConfiguration(provider.getDefaultClassLoader(), new DefaultPersistenceConfiguration(diskDirectory.toFile()))
+        );
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testCachesWithoutSettingsUseJHipsterSettings() {
+        new CacheConfiguration(new JHipsterProperties(), applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        ResourcePools resourcePools = resourcePools(UserRepository.USERS_BY_EMAIL_CACHE);
+        assertThat(resourcePools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+    }
+
+    @Test
+    void testCachesPublishStatistics() throws Exception {
+        new CacheConfiguration(new JHipsterProperties(), applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        // The statistics MBeans are read by the Micrometer JCache metrics
+        ObjectName statistics = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + UserRepository.USERS_BY_LOGIN_CACHE + ",*");
+        assertThat(ManagementFactory.getPlatformMBeanServer().queryNames(statistics, null)).isNotEmpty();
+    }
+
+    @Test
+    void testTieredCache() {
+        applicationProperties.getCache().setDiskDirectory(diskDirectory.toString());
+        ApplicationProperties.Cache.CacheSettings settings = new ApplicationProperties.Cache.CacheSettings();
+        settings.setHeapSize(DataSize.ofKilobytes(512));
+        settings.setOffHeapSize(DataSize.ofMegabytes(2));
+        settings.setDiskSize(DataSize.ofMegabytes(4));
+        settings.setTimeToLive(Duration.ofMinutes(5));
+        applicationProperties.getCache().getCaches().put(UserRepository.USERS_BY_LOGIN_CACHE, settings);
+
+        new CacheConfiguration(new JHipsterProperties(), applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        ResourcePools resourcePools = resourcePools(UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(resourcePools.getResourceTypeSet()).containsExactlyInAnyOrder(
+            ResourceType.Core.HEAP,
+            ResourceType.Core.OFFHEAP,
+            ResourceType.Core.DISK
+        );
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(DataSize.ofMegabytes(4).toBytes());
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.put("user", "value");
+        assertThat(cache.get("user")).isEqualTo("value");
+    }
+
+    @Test
+    void testDiskTierNeedsDiskDirectory() {
+        ApplicationProperties.Cache.CacheSettings settings = new ApplicationProperties.Cache.CacheSettings();
+        settings.setDiskSize(DataSize.ofMegabytes(4));
+        applicationProperties.getCache().getCaches().put(UserRepository.USERS_BY_LOGIN_CACHE, settings);
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> new CacheConfiguration(new JHipsterProperties(), applicationProperties))
+            .withMessageContaining(UserRepository.USERS_BY_LOGIN_CACHE);
+    }
+
+    private ResourcePools resourcePools(String cacheName) {
+        Eh107Configuration<?, ?> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+    }
+}
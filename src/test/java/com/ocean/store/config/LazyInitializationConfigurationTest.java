@@ -0,0 +1,90 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Unit tests for the {@link LazyInitializationConfiguration}: which beans are deferred, and how they are reported.
+ */
+class LazyInitializationConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor()))
+        .withPropertyValues("spring.main.lazy-initialization=true")
+        .withUserConfiguration(LazyInitializationConfiguration.class, TestConfiguration.class);
+
+    @Test
+    void shouldDeferBeansUntilFirstUse() {
+        contextRunner.run(context -> {
+            ready(context);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            double deferredBeans = meterRegistry.get("application.startup.deferred.beans").gauge().value();
+            assertThat(context.getBeanFactory().containsSingleton("deferredBean")).isFalse();
+
+            context.getBean(DeferredBean.class);
+
+            assertThat(meterRegistry.get("application.startup.deferred.beans").gauge().value()).isEqualTo(deferredBeans - 1);
+            assertThat(meterRegistry.get("application.startup.deferred.initialization").timer().count()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldCreateScheduledBeansAtStartup() {
+        contextRunner.run(context -> assertThat(context.getBeanFactory().containsSingleton("scheduledBean")).isTrue());
+    }
+
+    @Test
+    void shouldNotDeferBeansWithoutLazyInitialization() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(LazyInitializationConfiguration.class, TestConfiguration.class)
+            .run(context -> {
+                assertThat(context).doesNotHaveBean(DeferredBeansReporter.class);
+                assertThat(context.getBeanFactory().containsSingleton("deferredBean")).isTrue();
+            });
+    }
+
+    private static void ready(ConfigurableApplicationContext context) {
+        context.publishEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO));
+    }
+
+    @Configuration
+    static class TestConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        DeferredBean deferredBean() {
+            return new DeferredBean();
+        }
+
+        @Bean
+        ScheduledBean scheduledBean() {
+            return new ScheduledBean();
+        }
+    }
+
+    static class DeferredBean {}
+
+    static class ScheduledBean {
+
+        @Scheduled(fixedDelay = 60000)
+        void run() {
+            // Not scheduled, as scheduling is not enabled
+        }
+    }
+}
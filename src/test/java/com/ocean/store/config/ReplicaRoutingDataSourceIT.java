@@ -0,0 +1,156 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ocean.store.IntegrationTest;
+import com.ocean.store.domain.User;
+import com.ocean.store.repository.UserRepository;
+import com.ocean.store.security.DomainUserDetailsService;
+import com.ocean.store.service.UserService;
+import com.ocean.store.service.dto.AccountDTO;
+import com.ocean.store.service.dto.AdminUserDTO;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link ReplicaRoutingDataSource}, with a replica which has not replayed the last change of
+ * a user: the lookups filling the caches must read the primary.
+ * <p>
+ * The replica is a schema of the test database holding a copy of the user tables: it is not replicated, so it lags
+ * behind the primary until the copy is dropped.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.datasource.replicas[0].name=Hikari-replica",
+        "application.datasource.replicas[0].url=${spring.datasource.url}&currentSchema=" + ReplicaRoutingDataSourceIT.REPLICA_SCHEMA,
+        "application.datasource.replica-check-interval=1h",
+    }
+)
+class ReplicaRoutingDataSourceIT {
+
+    static final String REPLICA_SCHEMA = "replica";
+
+    private static final List<String> USER_TABLES = List.of("jhi_authority", "jhi_user", "jhi_user_authority");
+
+    private static final String LOGIN = "replica-routing-user";
+
+    private static final String NEW_LOGIN = "replica-routing-new-user";
+
+    private static final String STALE_FIRST_NAME = "Stale";
+
+    private static final String FIRST_NAME = "Fresh";
+
+    private static final String PASSWORD = RandomStringUtils.insecure().nextAlphanumeric(60);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DomainUserDetailsService userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        clearCaches();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        userRepository.saveAndFlush(user(LOGIN));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE SCHEMA " + REPLICA_SCHEMA);
+            for (String table : USER_TABLES) {
+                jdbcTemplate.execute("CREATE TABLE " + REPLICA_SCHEMA + "." + table + " (LIKE public." + table + ")");
+                jdbcTemplate.execute("INSERT INTO " + REPLICA_SCHEMA + "." + table + " SELECT * FROM public." + table);
+            }
+            // Changes which the replica has not replayed yet
+            jdbcTemplate.update("UPDATE jhi_user SET first_name = ?, password_hash = ? WHERE login = ?", FIRST_NAME, PASSWORD, LOGIN);
+        });
+        userRepository.saveAndFlush(user(NEW_LOGIN));
+        ((ReplicaRoutingDataSource) dataSource).checkReplicas();
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("DROP SCHEMA " + REPLICA_SCHEMA + " CASCADE");
+            jdbcTemplate.update("DELETE FROM jhi_user WHERE login IN (?, ?)", LOGIN, NEW_LOGIN);
+        });
+        clearCaches();
+    }
+
+    @Test
+    void shouldReadReplicaInReadOnlyTransactions() {
+        assertThat(userService.getAllManagedUsers(PageRequest.of(0, 1000)).getContent())
+            .filteredOn(user -> LOGIN.equals(user.getLogin()))
+            .extracting(AdminUserDTO::getFirstName)
+            .containsExactly(STALE_FIRST_NAME);
+    }
+
+    @Test
+    @WithMockUser(LOGIN)
+    void shouldCacheAccountFromPrimary() {
+        assertThat(userService.getAccount()).map(AccountDTO::getFirstName).contains(FIRST_NAME);
+        assertThat(cacheManager.getCache(UserService.ACCOUNTS_BY_LOGIN_CACHE).get(LOGIN, AccountDTO.class))
+            .extracting(AccountDTO::getFirstName)
+            .isEqualTo(FIRST_NAME);
+    }
+
+    @Test
+    void shouldCacheUserFromPrimary() {
+        assertThat(userDetailsService.loadUserByUsername(LOGIN).getPassword()).isEqualTo(PASSWORD);
+        assertThat(userService.getUserWithAuthoritiesByLogin(LOGIN)).map(User::getFirstName).contains(FIRST_NAME);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(LOGIN, User.class))
+            .extracting(User::getPassword)
+            .isEqualTo(PASSWORD);
+    }
+
+    @Test
+    void shouldNotRememberUsersMissingFromReplicaAsUnknown() {
+        assertThat(userDetailsService.loadUserByUsername(NEW_LOGIN).getUsername()).isEqualTo(NEW_LOGIN);
+        assertThat(
+            cacheManager.getCache(DomainUserDetailsService.UNKNOWN_USERS_CACHE).get(DomainUserDetailsService.unknownLoginKey(NEW_LOGIN))
+        ).isNull();
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private static User user(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@localhost");
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        user.setFirstName(STALE_FIRST_NAME);
+        user.setActivated(true);
+        user.setLangKey("en");
+        return user;
+    }
+}
@@ -0,0 +1,142 @@
+package com.ocean.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the routing of connections by the {@link ReplicaRoutingDataSource}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private MeterRegistry meterRegistry;
+
+    private DataSource primary;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = dataSource(0);
+    }
+
+    @Test
+    void shouldSendWritesToPrimary() throws SQLException {
+        DataSource replica = dataSource(0);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(Map.of("replica", replica));
+        routingDataSource.checkReplicas();
+
+        useConnection(routingDataSource, false);
+
+        verify(primary).getConnection();
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "replica").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldSendReadsToReplicasInTurn() throws SQLException {
+        DataSource replica1 = dataSource(0);
+        DataSource replica2 = dataSource(0);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica1", replica1);
+        replicas.put("replica2", replica2);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicas);
+        routingDataSource.checkReplicas();
+
+        for (int i = 0; i < 4; i++) {
+            useConnection(routingDataSource, true);
+        }
+
+        verify(primary, never()).getConnection();
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "replica1").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "replica2").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSendReadsToPrimaryBeforeFirstCheck() throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(Map.of("replica", dataSource(0)));
+
+        useConnection(routingDataSource, true);
+
+        verify(primary).getConnection();
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "primary").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("pool", "replica").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldSkipLaggingReplica() throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("lagging", dataSource(60000));
+        replicas.put("replica", dataSource(100));
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicas);
+        routingDataSource.checkReplicas();
+
+        useConnection(routingDataSource, true);
+        useConnection(routingDataSource, true);
+
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "lagging").counter().count()).isZero();
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "replica").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "lagging").gauge().value()).isEqualTo(60000);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("pool", "lagging").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnavailable() throws SQLException {
+        DataSource replica = dataSource(0);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(Map.of("replica", replica));
+        routingDataSource.checkReplicas();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        useConnection(routingDataSource, true);
+        useConnection(routingDataSource, true);
+
+        assertThat(meterRegistry.get("datasource.readonly.connections").tag("pool", "primary").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("pool", "replica").gauge().value()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "replica").gauge().value()).isZero();
+
+        routingDataSource.checkReplicas();
+
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "replica").gauge().value()).isNaN();
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(Map<String, DataSource> replicas) {
+        return new ReplicaRoutingDataSource(primary, "primary", replicas, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    /**
+     * Use a connection the way a transaction does: the target connection is only fetched by the first statement.
+     */
+    private static void useConnection(DataSource dataSource, boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+        }
+    }
+
+    private static DataSource dataSource(double lagMillis) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
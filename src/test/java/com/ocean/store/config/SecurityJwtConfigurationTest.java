@@ -0,0 +1,86 @@
+package com.ocean.store.config;
+
+import static com.ocean.store.security.SecurityUtils.JWT_ALGORITHM;
+import static com.ocean.store.security.jwt.JwtAuthenticationTestUtils.createExpiredToken;
+import static com.ocean.store.security.jwt.JwtAuthenticationTestUtils.createTokenWithDifferentSignature;
+import static com.ocean.store.security.jwt.JwtAuthenticationTestUtils.createValidTokenForUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.ocean.store.management.SecurityMetersService;
+import com.ocean.store.security.RejectedTokenException;
+import com.ocean.store.security.TokenFailureReason;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the verifying decoder of the {@link SecurityJwtConfiguration}.
+ */
+class SecurityJwtConfigurationTest {
+
+    private static final String JWT_KEY =
+        "MTkwMGM0NDY3ZDE3NDU3MDcwOGM4NzM1ODg4OTQ1ZDVjODZkZWVjODNkZjZhOWE2ZGMyMGFlZmQ5OTY3ZWJkNmQ1Mjk4ZDgzODIzZWE2MjQ2YTQ5N2ZiZTMxMTJmYmM1NDQ0MjgzYmE0ZTM3NDdiOWE4MTEyNmVmZmE3ZjUzM2I=";
+
+    private MeterRegistry meterRegistry;
+
+    private JwtEncoder jwtEncoder;
+
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setup() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", JWT_KEY);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtEncoder = securityJwtConfiguration.jwtEncoder();
+        jwtDecoder = securityJwtConfiguration.verifyingJwtDecoder(new SecurityMetersService(meterRegistry));
+    }
+
+    @Test
+    void shouldDecodeValidToken() {
+        assertThat(jwtDecoder.decode(createValidTokenForUser(JWT_KEY, "user")).getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    void shouldRejectTokenWithDifferentSignature() {
+        assertThatExceptionOfType(RejectedTokenException.class)
+            .isThrownBy(() -> jwtDecoder.decode(createTokenWithDifferentSignature()))
+            .extracting(RejectedTokenException::getReason)
+            .isEqualTo(TokenFailureReason.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        assertThatExceptionOfType(RejectedTokenException.class)
+            .isThrownBy(() -> jwtDecoder.decode(createExpiredToken(JWT_KEY)))
+            .extracting(RejectedTokenException::getReason)
+            .isEqualTo(TokenFailureReason.EXPIRED);
+    }
+
+    @Test
+    void shouldRejectTokenNotYetValid() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .subject("user")
+            .notBefore(now.plus(1, ChronoUnit.HOURS))
+            .expiresAt(now.plus(2, ChronoUnit.HOURS))
+            .build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims)).getTokenValue();
+
+        assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> jwtDecoder.decode(token));
+        assertThat(meterRegistry.get("security.authentication.invalid-tokens").tag("cause", "invalid-claims").counter().count()).isEqualTo(
+            1
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package com.ocean.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+
+/**
+ * Unit tests for the {@link CacheLoadMetricsAdvisor}.
+ */
+class CacheLoadMetricsAdvisorTest {
+
+    private MeterRegistry meterRegistry;
+
+    private Repository repository;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        AnnotationCacheOperationSource cacheOperationSource = new AnnotationCacheOperationSource();
+
+        CacheInterceptor cacheInterceptor = new CacheInterceptor();
+        cacheInterceptor.setCacheOperationSource(cacheOperationSource);
+        cacheInterceptor.setCacheManager(new ConcurrentMapCacheManager("names"));
+        cacheInterceptor.afterPropertiesSet();
+        cacheInterceptor.afterSingletonsInstantiated();
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("cacheMetersService", new CacheMetersService(meterRegistry));
+
+        ProxyFactory proxyFactory = new ProxyFactory(new Repository());
+        proxyFactory.addAdvice(cacheInterceptor);
+        proxyFactory.addAdvisor(new CacheLoadMetricsAdvisor(cacheOperationSource, beanFactory.getBeanProvider(CacheMetersService.class)));
+        repository = (Repository) proxyFactory.getProxy();
+    }
+
+    @Test
+    void testOnlyCacheMissesAreTimed() {
+        repository.findName(1L);
+        repository.findName(1L);
+        repository.findName(2L);
+
+        assertThat(
+            meterRegistry
+                .get(CacheMetersService.CACHE_LOAD_METER_NAME)
+                .tag(CacheMetersService.CACHE_LOAD_METER_CACHE_DIMENSION, "names")
+                .timer()
+                .count()
+        ).isEqualTo(2);
+    }
+
+    @Test
+    void testMethodsWithoutCacheAreNotTimed() {
+        repository.countNames();
+
+        assertThat(meterRegistry.find(CacheMetersService.CACHE_LOAD_METER_NAME).timers()).isEmpty();
+    }
+
+    static class Repository {
+
+        @Cacheable("names")
+        public String findName(Long id) {
+            return "name-" + id;
+        }
+
+        public long countNames() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ocean.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ocean.store.IntegrationTest;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that the {@link UserRepository} lookups use the indexes created for them.
+ * <p>
+ * The statements are the ones Hibernate generates for the repository methods, captured by a {@link StatementInspector},
+ * and explained with the parameters they were called with. The table is filled with enough users for the planner to
+ * prefer an index to a sequential scan.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "com.ocean.store.repository.UserRepositoryIndexIT$CapturingStatementInspector"
+)
+class UserRepositoryIndexIT {
+
+    private static final int USERS = 20000;
+
+    private static final String KEY = "key";
+
+    private static final String EMAIL = "index-user-42@localhost";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update(
+            "INSERT INTO jhi_user (id, login, password_hash, email, activated, lang_key, created_by, created_date) " +
+            "SELECT 1000000 + n, 'index-user-' || n, repeat('x', 60), 'index-user-' || n || '@localhost', true, 'en', 'system', " +
+            "now() - n * interval '1 minute' FROM generate_series(1, ?) n",
+            USERS
+        );
+        jdbcTemplate.execute("ANALYZE jhi_user");
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findOneByActivationKeyUsesIndex() {
+        userRepository.findOneByActivationKey(KEY);
+
+        assertThat(explainCapturedQuery(KEY)).contains("ix_user_activation_key");
+    }
+
+    @Test
+    void findOneByResetKeyUsesIndex() {
+        userRepository.findOneByResetKey(KEY);
+
+        assertThat(explainCapturedQuery(KEY)).contains("ix_user_reset_key");
+    }
+
+    @Test
+    void findOneByEmailIgnoreCaseUsesIndex() {
+        userRepository.findOneByEmailIgnoreCase(EMAIL);
+
+        assertThat(explainCapturedQuery(EMAIL)).contains("ix_user_upper_email");
+    }
+
+    @Test
+    void findExistingUpperCaseEmailsUsesIndex() {
+        userRepository.findExistingUpperCaseEmails(List.of("ADMIN@LOCALHOST", "USER@LOCALHOST"));
+
+        assertThat(explainCapturedQuery("ADMIN@LOCALHOST", "USER@LOCALHOST")).contains("ix_user_upper_email");
+    }
+
+    @Test
+    void findIdentitiesByLoginOrEmailIgnoreCaseUsesIndexes() {
+        userRepository.findIdentitiesByLoginOrEmailIgnoreCase("user", EMAIL);
+
+        assertThat(explainCapturedQuery("user", EMAIL)).contains("ux_user_login").contains("ix_user_upper_email");
+    }
+
+    @Test
+    void findNotActivatedUsersCreatedBeforeUsesIndex() {
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(createdBefore, Limit.of(500));
+
+        assertThat(explainCapturedQuery(Timestamp.from(createdBefore), 500)).contains("ix_user_not_activated_created_date");
+    }
+
+    /**
+     * Explain the only query run since the setup, with its parameters.
+     */
+    private String explainCapturedQuery(Object... parameters) {
+        assertThat(CapturingStatementInspector.STATEMENTS).hasSize(1);
+        String sql = CapturingStatementInspector.STATEMENTS.get(0);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    /**
+     * Records the queries Hibernate runs on the {@code jhi_user} table.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        private static final Set<String> QUERY_PREFIXES = Set.of("select", "with");
+
+        @Override
+        public String inspect(String sql) {
+            String start = sql.stripLeading();
+            int space = start.indexOf(' ');
+            if (space > 0 && QUERY_PREFIXES.contains(start.substring(0, space).toLowerCase()) && sql.contains("jhi_user")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
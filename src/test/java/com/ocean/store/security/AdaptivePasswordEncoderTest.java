@@ -0,0 +1,61 @@
+package com.ocean.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ocean.store.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link AdaptivePasswordEncoder}.
+ */
+class AdaptivePasswordEncoderTest {
+
+    private static final String PASSWORD_HASH_METER_NAME = "security.authentication.password-hash";
+
+    private MeterRegistry meterRegistry;
+
+    private AdaptivePasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new AdaptivePasswordEncoder(5, new SecurityMetersService(meterRegistry));
+    }
+
+    @Test
+    void testEncodedPasswordMatches() {
+        String encodedPassword = passwordEncoder.encode("password");
+
+        assertThat(encodedPassword).startsWith("$2a$05$");
+        assertThat(passwordEncoder.matches("password", encodedPassword)).isTrue();
+        assertThat(passwordEncoder.matches("other", encodedPassword)).isFalse();
+    }
+
+    @Test
+    void testHashesWithOtherStrengthMatch() {
+        assertThat(passwordEncoder.matches("password", new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+    }
+
+    @Test
+    void testUpgradeEncoding() {
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password"))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    void testHashTimeIsMeasured() {
+        String encodedPassword = passwordEncoder.encode("password");
+        passwordEncoder.matches("password", encodedPassword);
+        passwordEncoder.matches("other", encodedPassword);
+
+        assertThat(meterRegistry.get(PASSWORD_HASH_METER_NAME).tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PASSWORD_HASH_METER_NAME).tag("operation", "match").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ocean.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.config.CacheConfiguration;
+import com.ocean.store.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+
+    private MeterRegistry meterRegistry;
+
+    private CacheManager cacheManager;
+
+    private AtomicInteger delegateCalls;
+
+    private Instant expiresAt;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegateCalls = new AtomicInteger();
+        expiresAt = Instant.now().plusSeconds(60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testRepeatedTokenIsDecodedOnce() {
+        JwtDecoder decoder = cachingJwtDecoder(10);
+
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        expiresAt = Instant.now().minusSeconds(1);
+        JwtDecoder decoder = cachingJwtDecoder(10);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(delegateCalls).hasValue(2);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isZero();
+    }
+
+    @Test
+    void testEvictionsAreCounted() {
+        JwtDecoder decoder = cachingJwtDecoder(1);
+
+        decoder.decode("token-1");
+        decoder.decode("token-2");
+
+        await()
+            .untilAsserted(() ->
+                assertThat(meterRegistry.get(TOKEN_CACHE_METER_NAME).tag("result", "eviction").counter().count()).isEqualTo(1)
+            );
+    }
+
+    private JwtDecoder cachingJwtDecoder(long maxEntries) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getTokenCache().setMaxEntries(maxEntries);
+        cacheManager = Caching.getCachingProvider().getCacheManager();
+        new CacheConfiguration(new JHipsterProperties(), applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        JwtDecoder delegate = token -> {
+            delegateCalls.incrementAndGet();
+            return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").expiresAt(expiresAt).build();
+        };
+        return new CachingJwtDecoder(
+            delegate,
+            cacheManager.getCache(CachingJwtDecoder.VERIFIED_TOKENS_CACHE),
+            new SecurityMetersService(meterRegistry)
+        );
+    }
+}
@@ -7,6 +7,7 @@ import com.ocean.store.IntegrationTest;
 import com.ocean.store.domain.User;
 import com.ocean.store.repository.UserRepository;
 import com.ocean.store.service.UserService;
+import com.ocean.store.service.dto.AdminUserDTO;
 import java.util.Locale;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -14,8 +15,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,6 +35,8 @@ class DomainUserDetailsServiceIT {
     private static final String USER_TWO_EMAIL = "test-user-two@localhost";
     private static final String USER_THREE_LOGIN = "test-user-three";
     private static final String USER_THREE_EMAIL = "test-user-three@localhost";
+    private static final String UNKNOWN_LOGIN = "test-user-unknown";
+    private static final String UNKNOWN_EMAIL = "test-user-unknown@localhost";
 
     @Autowired
     private UserRepository userRepository;
@@ -38,6 +44,9 @@ class DomainUserDetailsServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     @Qualifier("userDetailsService")
     private UserDetailsService domainUserDetailsService;
@@ -133,4 +142,38 @@ class DomainUserDetailsServiceIT {
             domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatUnknownUserIsRemembered() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(UNKNOWN_LOGIN)
+        );
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(UNKNOWN_EMAIL)
+        );
+
+        Cache unknownUsers = cacheManager.getCache(DomainUserDetailsService.UNKNOWN_USERS_CACHE);
+        assertThat(unknownUsers.get(DomainUserDetailsService.unknownLoginKey(UNKNOWN_LOGIN))).isNotNull();
+        assertThat(unknownUsers.get(DomainUserDetailsService.unknownEmailKey(UNKNOWN_EMAIL))).isNotNull();
+    }
+
+    @Test
+    void assertThatCreatedUserIsNoLongerUnknown() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(UNKNOWN_LOGIN)
+        );
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(UNKNOWN_EMAIL)
+        );
+
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(UNKNOWN_LOGIN);
+        userDTO.setEmail(UNKNOWN_EMAIL);
+        userDTO.setLangKey("en");
+        userService.createUser(userDTO);
+
+        assertThat(domainUserDetailsService.loadUserByUsername(UNKNOWN_LOGIN).getUsername()).isEqualTo(UNKNOWN_LOGIN);
+        assertThat(domainUserDetailsService.loadUserByUsername(UNKNOWN_EMAIL).getUsername()).isEqualTo(UNKNOWN_LOGIN);
+        userService.deleteUser(UNKNOWN_LOGIN);
+    }
 }
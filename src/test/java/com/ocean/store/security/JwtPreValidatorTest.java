@@ -0,0 +1,132 @@
+package com.ocean.store.security;
+
+import static com.ocean.store.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Test class for the {@link JwtPreValidator}.
+ */
+class JwtPreValidatorTest {
+
+    private static final String JWT_KEY =
+        "MTkwMGM0NDY3ZDE3NDU3MDcwOGM4NzM1ODg4OTQ1ZDVjODZkZWVjODNkZjZhOWE2ZGMyMGFlZmQ5OTY3ZWJkNmQ1Mjk4ZDgzODIzZWE2MjQ2YTQ5N2ZiZTMxMTJmYmM1NDQ0MjgzYmE0ZTM3NDdiOWE4MTEyNmVmZmE3ZjUzM2I=";
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private SecretKey secretKey;
+
+    private JwtPreValidator preValidator;
+
+    @BeforeEach
+    void setup() {
+        secretKey = secretKey(JWT_KEY);
+        preValidator = new JwtPreValidator(secretKey, JWT_ALGORITHM, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testValidTokenIsAccepted() {
+        assertThat(preValidator.validate(token(secretKey, JWT_ALGORITHM, NOW.plusSeconds(60)))).isEmpty();
+    }
+
+    @Test
+    void testTokenExpiredWithinClockSkewIsAccepted() {
+        assertThat(preValidator.validate(token(secretKey, JWT_ALGORITHM, NOW.minusSeconds(30)))).isEmpty();
+    }
+
+    @Test
+    void testExpiredToken() {
+        assertThat(preValidator.validate(token(secretKey, JWT_ALGORITHM, NOW.minusSeconds(61)))).contains(TokenFailureReason.EXPIRED);
+    }
+
+    @Test
+    void testTokenWithDifferentSignature() {
+        String token = token(secretKey(JWT_KEY.replace('M', 'N')), JWT_ALGORITHM, NOW.plusSeconds(60));
+
+        assertThat(preValidator.validate(token)).contains(TokenFailureReason.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void testTokenWithTamperedPayload() {
+        String token = token(secretKey, JWT_ALGORITHM, NOW.plusSeconds(60));
+        String[] segments = token.split("\\.");
+        String payload = java.util.Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString("{\"sub\":\"admin\",\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(preValidator.validate(segments[0] + "." + payload + "." + segments[2])).contains(TokenFailureReason.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void testTokenWithOtherAlgorithm() {
+        String token = token(secretKey, MacAlgorithm.HS256, NOW.plusSeconds(60));
+
+        assertThat(preValidator.validate(token)).contains(TokenFailureReason.UNSUPPORTED);
+        assertThat(preValidator.validate("e30.e30.e30")).contains(TokenFailureReason.UNSUPPORTED);
+    }
+
+    @Test
+    void testUnsignedToken() {
+        String token = token(secretKey, JWT_ALGORITHM, NOW.plusSeconds(60));
+
+        assertThat(preValidator.validate(token.substring(0, token.lastIndexOf('.') + 1))).contains(TokenFailureReason.UNSUPPORTED);
+    }
+
+    @Test
+    void testTokenWithCriticalHeader() {
+        JwsHeader header = JwsHeader.with(JWT_ALGORITHM).criticalHeader("ext", "value").build();
+
+        assertThat(preValidator.validate(token(secretKey, header, NOW.plusSeconds(60)))).contains(TokenFailureReason.UNSUPPORTED);
+    }
+
+    @Test
+    void testTokenWithType() {
+        JwsHeader jwtType = JwsHeader.with(JWT_ALGORITHM).type("JWT").build();
+        JwsHeader otherType = JwsHeader.with(JWT_ALGORITHM).type("at+jwt").build();
+
+        assertThat(preValidator.validate(token(secretKey, jwtType, NOW.plusSeconds(60)))).isEmpty();
+        assertThat(preValidator.validate(token(secretKey, otherType, NOW.plusSeconds(60)))).contains(TokenFailureReason.UNSUPPORTED);
+    }
+
+    @Test
+    void testMalformedTokens() {
+        String token = token(secretKey, JWT_ALGORITHM, NOW.plusSeconds(60));
+
+        assertThat(preValidator.validate(null)).contains(TokenFailureReason.MALFORMED);
+        assertThat(preValidator.validate("")).contains(TokenFailureReason.MALFORMED);
+        assertThat(preValidator.validate("not-a-token")).contains(TokenFailureReason.MALFORMED);
+        assertThat(preValidator.validate(token.substring(1))).contains(TokenFailureReason.MALFORMED);
+        assertThat(preValidator.validate(token.replaceFirst("\\.", ".*"))).contains(TokenFailureReason.MALFORMED);
+    }
+
+    private static SecretKey secretKey(String jwtKey) {
+        byte[] keyBytes = Base64.from(jwtKey).decode();
+        return new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
+    }
+
+    private static String token(SecretKey key, MacAlgorithm algorithm, Instant expiresAt) {
+        return token(key, JwsHeader.with(algorithm).build(), expiresAt);
+    }
+
+    private static String token(SecretKey key, JwsHeader header, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder().subject("user").issuedAt(expiresAt.minusSeconds(3600)).expiresAt(expiresAt).build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(header, claims))
+            .getTokenValue();
+    }
+}
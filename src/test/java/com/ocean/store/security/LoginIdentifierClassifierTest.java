@@ -0,0 +1,85 @@
+package com.ocean.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ocean.store.config.Constants;
+import com.ocean.store.security.LoginIdentifierClassifier.Kind;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LoginIdentifierClassifier}.
+ */
+class LoginIdentifierClassifierTest {
+
+    private static final String ALPHABET = "aZ09._-+@@..--\"' !#%é[]:";
+
+    private static final EmailValidator EMAIL_VALIDATOR = new EmailValidator();
+
+    private static final Pattern LOGIN_PATTERN = Pattern.compile(Constants.LOGIN_REGEX);
+
+    @Test
+    void testEmails() {
+        assertThat(LoginIdentifierClassifier.classify("user@localhost")).isEqualTo(Kind.EMAIL);
+        assertThat(LoginIdentifierClassifier.classify("John.Doe+tag@example.co.uk")).isEqualTo(Kind.EMAIL);
+        assertThat(LoginIdentifierClassifier.classify("user_1@my-domain.com")).isEqualTo(Kind.EMAIL);
+        assertThat(LoginIdentifierClassifier.classify("\"john doe\"@example.com")).isEqualTo(Kind.EMAIL);
+        assertThat(LoginIdentifierClassifier.classify("josé@exämple.com")).isEqualTo(Kind.EMAIL);
+    }
+
+    @Test
+    void testLogins() {
+        assertThat(LoginIdentifierClassifier.classify("admin")).isEqualTo(Kind.LOGIN);
+        assertThat(LoginIdentifierClassifier.classify("John_Doe-1.2")).isEqualTo(Kind.LOGIN);
+        assertThat(LoginIdentifierClassifier.classify("user@")).isEqualTo(Kind.LOGIN);
+        assertThat(LoginIdentifierClassifier.classify("a..b@localhost")).isEqualTo(Kind.LOGIN);
+    }
+
+    @Test
+    void testInvalidIdentifiers() {
+        assertThat(LoginIdentifierClassifier.classify(null)).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("")).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("john doe")).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("admin\n")).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("admin'--")).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("a+b")).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("a".repeat(LoginIdentifierClassifier.MAX_LOGIN_LENGTH + 1))).isEqualTo(Kind.INVALID);
+        assertThat(LoginIdentifierClassifier.classify("a".repeat(250) + "@localhost")).isEqualTo(Kind.INVALID);
+    }
+
+    @Test
+    void testSameResultAsValidatorsAtLengthLimits() {
+        assertSameResultAsValidators("a".repeat(64) + "@localhost");
+        assertSameResultAsValidators("a".repeat(65) + "@localhost");
+        assertSameResultAsValidators("a@" + "b".repeat(63) + ".com");
+        assertSameResultAsValidators("a@" + "b".repeat(64) + ".com");
+        assertSameResultAsValidators("a@" + "b".repeat(60) + "." + "c".repeat(60) + "." + "d".repeat(60) + "." + "e".repeat(60));
+        assertSameResultAsValidators("a@1.2");
+        assertSameResultAsValidators("a@-b.com");
+        assertSameResultAsValidators("a@b-.com");
+    }
+
+    @Test
+    void testSameResultAsValidators() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder identifier = new StringBuilder();
+            int length = 1 + random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                identifier.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertSameResultAsValidators(identifier.toString());
+        }
+    }
+
+    private static void assertSameResultAsValidators(String identifier) {
+        Kind expected = EMAIL_VALIDATOR.isValid(identifier, null)
+            ? Kind.EMAIL
+            : identifier.length() <= LoginIdentifierClassifier.MAX_LOGIN_LENGTH && LOGIN_PATTERN.matcher(identifier).matches()
+                ? Kind.LOGIN
+                : Kind.INVALID;
+        assertThat(LoginIdentifierClassifier.classify(identifier)).as(identifier).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ocean.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.ocean.store.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Test class for the {@link LoginVerificationExecutor}.
+ */
+class LoginVerificationExecutorTest {
+
+    private static final Authentication CREDENTIALS = UsernamePasswordAuthenticationToken.unauthenticated("user", "password");
+
+    private MeterRegistry meterRegistry;
+
+    private LoginVerificationExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new LoginVerificationExecutor(1, 1, meterRegistry, new SecurityMetersService(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testAuthenticationRunsOnVerificationPool() {
+        AuthenticationManager authenticationManager = authentication ->
+            UsernamePasswordAuthenticationToken.authenticated(Thread.currentThread().getName(), null, null);
+
+        Authentication authentication = executor.authenticate(authenticationManager, CREDENTIALS).join();
+
+        assertThat(authentication.getName()).startsWith("login-verification-");
+        assertThat(meterRegistry.get("executor.idle").tag("name", LoginVerificationExecutor.EXECUTOR_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAuthenticationFailureIsRethrown() {
+        AuthenticationManager authenticationManager = authentication -> {
+            throw new BadCredentialsException("Bad credentials");
+        };
+
+        assertThat(executor.authenticate(authenticationManager, CREDENTIALS))
+            .failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void testLoginIsRejectedWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AuthenticationManager blockingManager = authentication -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return authentication;
+        };
+
+        CompletableFuture<Authentication> running = executor.authenticate(blockingManager, CREDENTIALS);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Authentication> queued = executor.authenticate(blockingManager, CREDENTIALS);
+        await().until(() -> meterRegistry.get("executor.queued").tag("name", LoginVerificationExecutor.EXECUTOR_NAME).gauge().value() == 1);
+
+        assertThatThrownBy(() -> executor.authenticate(blockingManager, CREDENTIALS)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("security.authentication.rejected-logins").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isSameAs(CREDENTIALS);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isSameAs(CREDENTIALS);
+    }
+}
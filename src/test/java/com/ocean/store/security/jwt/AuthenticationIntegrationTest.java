@@ -1,5 +1,6 @@
 package com.ocean.store.security.jwt;
 
+import com.ocean.store.config.ApplicationProperties;
 import com.ocean.store.config.SecurityConfiguration;
 import com.ocean.store.config.SecurityJwtConfiguration;
 import com.ocean.store.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -0,0 +1,57 @@
+package com.ocean.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.ocean.store.IntegrationTest;
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.repository.UserRepository;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CacheInvalidationService}.
+ */
+@IntegrationTest
+class CacheInvalidationServiceIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Test
+    void testEvictionFromOtherNodeIsApplied() {
+        Cache cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.put("cache-invalidation-user", "value");
+        String payload = CacheInvalidationService.encode(
+            "other-node",
+            Map.of(UserRepository.USERS_BY_LOGIN_CACHE, Set.of("cache-invalidation-user"))
+        ).get(0);
+
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.queryForObject(
+                "SELECT pg_notify(?, ?)",
+                String.class,
+                applicationProperties.getCache().getInvalidation().getChannel(),
+                payload
+            )
+        );
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(cache.get("cache-invalidation-user")).isNull());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ocean.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.domain.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for the notification payloads of the {@link CacheInvalidationService}.
+ */
+class CacheInvalidationServiceTest {
+
+    private static final String CACHE_NAME = "usersByLogin";
+
+    private Cache cache;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    private EntityPersister userPersister;
+
+    private CacheInvalidationService cacheInvalidationService;
+
+    @BeforeEach
+    void setup() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CACHE_NAME);
+        cache = cacheManager.getCache(CACHE_NAME);
+        sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        userPersister = mock(EntityPersister.class);
+        when(sessionFactory.getMappingMetamodel().findEntityDescriptor(User.class.getName())).thenReturn(userPersister);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        cacheInvalidationService = new CacheInvalidationService(
+            cacheManager,
+            entityManagerFactory,
+            null,
+            new DataSourceProperties(),
+            new ApplicationProperties()
+        );
+    }
+
+    @Test
+    void testNotificationFromOtherNodeEvicts() {
+        cache.put("user", "value");
+        cache.put("other", "value");
+
+        cacheInvalidationService.onNotification(
+            CacheInvalidationService.encode("other-node", Map.of(CACHE_NAME, Set.of("user"))).get(0)
+        );
+
+        assertThat(cache.get("user")).isNull();
+        assertThat(cache.get("other")).isNotNull();
+    }
+
+    @Test
+    void testNotificationFromSameNodeIsIgnored() {
+        cache.put("user", "value");
+
+        cacheInvalidationService.onNotification(
+            CacheInvalidationService.encode(cacheInvalidationService.getNodeId(), Map.of(CACHE_NAME, Set.of("user"))).get(0)
+        );
+
+        assertThat(cache.get("user")).isNotNull();
+    }
+
+    @Test
+    void testNotificationFromOtherNodeEvictsEntities() {
+        PluralAttributeMapping authorities = mock(PluralAttributeMapping.class, RETURNS_DEEP_STUBS);
+        when(authorities.isPluralAttributeMapping()).thenReturn(true);
+        when(authorities.asPluralAttributeMapping()).thenReturn(authorities);
+        when(authorities.getCollectionDescriptor().hasCache()).thenReturn(true);
+        when(authorities.getCollectionDescriptor().getRole()).thenReturn(User.class.getName() + ".authorities");
+        doAnswer(invocation -> {
+            invocation.<Consumer<AttributeMapping>>getArgument(0).accept(authorities);
+            return null;
+        })
+            .when(userPersister)
+            .forEachAttributeMapping(any(Consumer.class));
+
+        cacheInvalidationService.onNotification(
+            CacheInvalidationService.encode(
+                "other-node",
+                Map.of(CacheInvalidationService.ENTITY_PREFIX + User.class.getName(), Set.of("1", "2"))
+            ).get(0)
+        );
+
+        verify(sessionFactory.getCache()).evictEntityData(User.class.getName(), 1L);
+        verify(sessionFactory.getCache()).evictEntityData(User.class.getName(), 2L);
+        verify(sessionFactory.getCache()).evictCollectionData(User.class.getName() + ".authorities", 1L);
+        verify(sessionFactory.getCache()).evictCollectionData(User.class.getName() + ".authorities", 2L);
+    }
+
+    @Test
+    void testEvictionsAreSplitOverPayloads() {
+        Set<String> keys = IntStream.range(0, 1000)
+            .mapToObj(i -> "user-" + i + "@example.com")
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        keys.forEach(key -> cache.put(key, "value"));
+
+        List<String> payloads = CacheInvalidationService.encode("other-node", Map.of(CACHE_NAME, keys));
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(payload ->
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(CacheInvalidationService.MAX_PAYLOAD_BYTES)
+        );
+        payloads.forEach(cacheInvalidationService::onNotification);
+        assertThat(keys).allSatisfy(key -> assertThat(cache.get(key)).isNull());
+    }
+}
@@ -0,0 +1,53 @@
+package com.ocean.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ocean.store.IntegrationTest;
+import com.ocean.store.domain.User;
+import com.ocean.store.repository.UserRepository;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link CacheWarmupService}.
+ */
+@IntegrationTest
+@Transactional
+class CacheWarmupServiceIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheWarmupService cacheWarmupService;
+
+    @AfterEach
+    void cleanupCaches() {
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
+    @Test
+    void testWarmUpLoadsActivatedUsers() {
+        User user = new User();
+        user.setLogin("warm-up-user");
+        user.setEmail("warm-up-user@localhost");
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        user.setActivated(true);
+        userRepository.saveAndFlush(user);
+
+        cacheWarmupService.warmUp();
+
+        assertThat(cacheWarmupService.getState()).isEqualTo(CacheWarmupService.State.DONE);
+        assertThat(cacheWarmupService.getLoadedUsers()).isPositive();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("warm-up-user", User.class)).isNotNull();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get("warm-up-user@localhost", User.class)).isNotNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ocean.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ocean.store.security.CachingJwtDecoder;
+import com.ocean.store.security.DomainUserDetailsService;
+import com.ocean.store.security.SecurityUtils;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+/**
+ * Unit tests for the {@link HotPathWarmupService}.
+ */
+class HotPathWarmupServiceTest {
+
+    private UserService userService;
+
+    private CachingJwtDecoder cachingJwtDecoder;
+
+    private JwtDecoder verifyingJwtDecoder;
+
+    private HotPathWarmupService hotPathWarmupService;
+
+    @BeforeEach
+    void setup() {
+        userService = mock(UserService.class);
+        JwtEncoder jwtEncoder = mock(JwtEncoder.class);
+        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenAnswer(invocation ->
+            jwt(invocation.<JwtEncoderParameters>getArgument(0).getClaims().getSubject())
+        );
+        verifyingJwtDecoder = mock(JwtDecoder.class);
+        when(verifyingJwtDecoder.decode(anyString())).thenAnswer(invocation -> jwt(invocation.getArgument(0)));
+        cachingJwtDecoder = mock(CachingJwtDecoder.class);
+        when(cachingJwtDecoder.getDelegate()).thenReturn(verifyingJwtDecoder);
+        hotPathWarmupService = new HotPathWarmupService(mock(DomainUserDetailsService.class), userService, jwtEncoder, cachingJwtDecoder);
+    }
+
+    @Test
+    void shouldVerifyTokensWithoutTheTokenCache() {
+        hotPathWarmupService.warmUp(List.of("user"), 3);
+
+        verify(verifyingJwtDecoder, times(3)).decode(anyString());
+        verify(cachingJwtDecoder, never()).decode(anyString());
+    }
+
+    @Test
+    void shouldGetAccountsAsTheirUsers() {
+        List<String> currentLogins = new ArrayList<>();
+        when(userService.getAccount()).thenAnswer(invocation -> {
+            SecurityUtils.getCurrentUserLogin().ifPresent(currentLogins::add);
+            return Optional.empty();
+        });
+
+        hotPathWarmupService.warmUp(List.of("user", "admin"), 4);
+
+        assertThat(currentLogins).containsExactly("user", "admin", "user", "admin");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    /**
+     * A token whose value is its subject.
+     */
+    private static Jwt jwt(String subject) {
+        Instant now = Instant.now();
+        return Jwt.withTokenValue(subject).header("alg", "HS512").subject(subject).issuedAt(now).expiresAt(now.plusSeconds(60)).build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.ocean.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ocean.store.IntegrationTest;
+import com.ocean.store.config.ApplicationProperties;
+import com.ocean.store.config.Constants;
+import com.ocean.store.domain.MailOutboxMessage;
+import com.ocean.store.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link MailOutboxDispatcher}.
+ */
+@IntegrationTest
+class MailOutboxDispatcherIT {
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Captor
+    private ArgumentCaptor<MimeMessage[]> messagesCaptor;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        mailOutboxRepository.deleteAll();
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @AfterEach
+    void cleanup() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatDueMessagesAreSentTogetherAndDeleted() {
+        mailOutboxRepository.saveAll(List.of(outboxMessage("john"), outboxMessage("jane")));
+        MailOutboxMessage notDue = outboxMessage("jim");
+        notDue.setNextAttemptDate(Instant.now().plus(1, ChronoUnit.HOURS));
+        mailOutboxRepository.save(notDue);
+        double sent = meterRegistry.get("mail.outbox.sent").counter().count();
+
+        mailOutboxDispatcher.dispatch();
+
+        verify(javaMailSender).send(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).hasSize(2);
+        assertThat(mailOutboxRepository.findAll()).extracting(MailOutboxMessage::getLogin).containsExactly("jim");
+        assertThat(meterRegistry.get("mail.outbox.sent").counter().count()).isEqualTo(sent + 2);
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatFailedMessagesAreRetriedWithBackoff() {
+        mailOutboxRepository.saveAll(List.of(outboxMessage("john"), outboxMessage("jane")));
+        doAnswer(invocation -> {
+            MimeMessage john = invocation.getArgument(0);
+            throw new MailSendException(Map.<Object, Exception>of(john, new SendFailedException("Mailbox unavailable")));
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+
+        Instant beforeDispatch = Instant.now();
+        mailOutboxDispatcher.dispatch();
+
+        List<MailOutboxMessage> outboxMessages = mailOutboxRepository.findAll();
+        assertThat(outboxMessages).hasSize(1);
+        MailOutboxMessage failed = outboxMessages.get(0);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("Mailbox unavailable");
+        assertThat(failed.getDeadLetterDate()).isNull();
+        assertThat(failed.getNextAttemptDate()).isAfterOrEqualTo(
+            beforeDispatch.plus(applicationProperties.getMailOutbox().getInitialBackoff())
+        );
+
+        // The message is not due anymore
+        reset(javaMailSender);
+        mailOutboxDispatcher.dispatch();
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void assertThatMessagesAreDeadLetteredAfterMaxAttempts() {
+        MailOutboxMessage outboxMessage = outboxMessage("john");
+        outboxMessage.setAttempts(applicationProperties.getMailOutbox().getMaxAttempts() - 1);
+        mailOutboxRepository.save(outboxMessage);
+        doThrow(new MailSendException("Connection refused")).when(javaMailSender).send(any(MimeMessage[].class));
+
+        mailOutboxDispatcher.dispatch();
+
+        MailOutboxMessage deadLetter = mailOutboxRepository.findAll().get(0);
+        assertThat(deadLetter.getAttempts()).isEqualTo(applicationProperties.getMailOutbox().getMaxAttempts());
+        assertThat(deadLetter.getDeadLetterDate()).isNotNull();
+        assertThat(mailOutboxRepository.countByDeadLetterDateIsNotNull()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void assertThatPoisonMessagesAreDeadLetteredAtOnce() {
+        MailOutboxMessage poison = outboxMessage("john");
+        poison.setTemplate("mail/unknownEmail");
+        mailOutboxRepository.saveAll(List.of(poison, outboxMessage("jane")));
+
+        mailOutboxDispatcher.dispatch();
+
+        verify(javaMailSender).send(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).hasSize(1);
+        MailOutboxMessage deadLetter = mailOutboxRepository.findAll().get(0);
+        assertThat(deadLetter.getLogin()).isEqualTo("john");
+        assertThat(deadLetter.getAttempts()).isEqualTo(1);
+        assertThat(deadLetter.getDeadLetterDate()).isNotNull();
+    }
+
+    @Test
+    void assertThatMessagesLockedByAnotherNodeAreSkipped() throws Exception {
+        mailOutboxRepository.saveAll(List.of(outboxMessage("john"), outboxMessage("jane")));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch dispatched = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                assertThat(mailOutboxRepository.lockDueMessages(Instant.now(), 1)).hasSize(1);
+                locked.countDown();
+                try {
+                    dispatched.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })
+        );
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        mailOutboxDispatcher.dispatch();
+        dispatched.countDown();
+        otherNode.get(10, TimeUnit.SECONDS);
+
+        verify(javaMailSender).send(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).hasSize(1);
+        assertThat(mailOutboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatMessagesAreLeasedAndUnlockedWhileSent() {
+        mailOutboxRepository.save(outboxMessage("john"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<MailOutboxMessage> leased = new ArrayList<>();
+        doAnswer(invocation -> {
+            // Another node can lock the row again, but does not find it due
+            transactionTemplate.executeWithoutResult(status -> {
+                assertThat(mailOutboxRepository.lockDueMessages(Instant.now(), 10)).isEmpty();
+                leased.addAll(mailOutboxRepository.findAll());
+            });
+            return null;
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(leased).singleElement().extracting(MailOutboxMessage::getNextAttemptDate).satisfies(nextAttemptDate ->
+            assertThat(nextAttemptDate).isAfter(Instant.now().plus(applicationProperties.getMailOutbox().getLease()).minusSeconds(60))
+        );
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    private static MailOutboxMessage outboxMessage(String login) {
+        MailOutboxMessage outboxMessage = new MailOutboxMessage();
+        outboxMessage.setTemplate("mail/activationEmail");
+        outboxMessage.setTitleKey("email.activation.title");
+        outboxMessage.setRecipient(login + "@example.com");
+        outboxMessage.setLogin(login);
+        outboxMessage.setLangKey(Constants.DEFAULT_LANGUAGE);
+        outboxMessage.setActivationKey("key");
+        return outboxMessage;
+    }
+}
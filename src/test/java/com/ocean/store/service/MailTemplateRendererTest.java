@@ -0,0 +1,65 @@
+package com.ocean.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link MailTemplateRenderer}.
+ */
+class MailTemplateRendererTest {
+
+    private static final String[] LANGUAGES = { "ar-ly", "en" };
+
+    private ResourceBundleMessageSource messageSource;
+
+    private MailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+
+        renderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, new ThymeleafProperties());
+    }
+
+    @Test
+    void shouldRenderUserValuesEscaped() {
+        MailUserView user = new MailUserView("o'brien&co", "activation<2>", null);
+
+        String content = renderer.renderContent("mail/activationEmail", Locale.ENGLISH, user);
+
+        assertThat(content).contains("o&#39;brien&amp;co").contains("http://127.0.0.1:8080/account/activate?key=activation&lt;2&gt;");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "email.activation.title", "email.reset.title" })
+    void shouldRenderSubjects(String titleKey) {
+        for (String language : LANGUAGES) {
+            Locale locale = Locale.forLanguageTag(language);
+            assertThat(renderer.renderSubject(titleKey, locale)).isEqualTo(messageSource.getMessage(titleKey, null, locale));
+        }
+    }
+}
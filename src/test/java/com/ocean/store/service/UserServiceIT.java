@@ -4,14 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.ocean.store.IntegrationTest;
+import com.ocean.store.domain.Authority;
 import com.ocean.store.domain.User;
+import com.ocean.store.repository.AuthorityRepository;
 import com.ocean.store.repository.UserRepository;
+import com.ocean.store.security.AuthoritiesConstants;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +26,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
@@ -53,6 +59,15 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
@@ -171,6 +186,29 @@ class UserServiceIT {
         userRepository.delete(user);
     }
 
+    @Test
+    @Transactional
+    void assertThatPasswordHashIsUpgraded() {
+        userRepository.saveAndFlush(user);
+        String currentPassword = user.getPassword();
+        String upgradedPassword = RandomStringUtils.insecure().nextAlphanumeric(60);
+
+        userService.upgradePasswordHash(DEFAULT_LOGIN, currentPassword, upgradedPassword);
+
+        assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN)).map(User::getPassword).contains(upgradedPassword);
+    }
+
+    @Test
+    @Transactional
+    void assertThatChangedPasswordHashIsNotUpgraded() {
+        userRepository.saveAndFlush(user);
+        String currentPassword = user.getPassword();
+
+        userService.upgradePasswordHash(DEFAULT_LOGIN, "stale-hash", RandomStringUtils.insecure().nextAlphanumeric(60));
+
+        assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN)).map(User::getPassword).contains(currentPassword);
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
@@ -184,11 +222,50 @@ class UserServiceIT {
         Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
         List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(users).isNotEmpty();
-        userService.removeNotActivatedUsers();
+        userPurgeService.removeNotActivatedUsers();
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(users).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedByChunks() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        Authority userAuthority = authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow();
+        user.setActivated(false);
+        user.setActivationKey(RandomStringUtils.insecure().next(20));
+        user.setAuthorities(new HashSet<>(Set.of(userAuthority)));
+        userRepository.saveAndFlush(user);
+        User otherUser = new User();
+        otherUser.setLogin(DEFAULT_LOGIN + "_other");
+        otherUser.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        otherUser.setActivationKey(RandomStringUtils.insecure().next(20));
+        otherUser.setAuthorities(new HashSet<>(Set.of(userAuthority)));
+        userRepository.saveAndFlush(otherUser);
+        List<Long> userIds = List.of(user.getId(), otherUser.getId());
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.put(DEFAULT_LOGIN, user);
+        usersByLogin.put(otherUser.getLogin(), otherUser);
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+
+        assertThat(userService.removeNotActivatedUsers(threeDaysAgo, 1)).isEqualTo(1);
+        assertThat(userService.removeNotActivatedUsers(threeDaysAgo, 1)).isEqualTo(1);
+        assertThat(userService.removeNotActivatedUsers(threeDaysAgo, 1)).isZero();
+
+        assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo)).isEmpty();
+        assertThat(usersByLogin.get(DEFAULT_LOGIN)).isNull();
+        assertThat(usersByLogin.get(otherUser.getLogin())).isNull();
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM jhi_user_authority WHERE user_id IN (?, ?)",
+                Long.class,
+                userIds.get(0),
+                userIds.get(1)
+            )
+        ).isZero();
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
@@ -201,7 +278,7 @@ class UserServiceIT {
         Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
         List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(users).isEmpty();
-        userService.removeNotActivatedUsers();
+        userPurgeService.removeNotActivatedUsers();
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
@@ -116,6 +116,26 @@ class AccountResourceIT {
         userService.deleteUser(TEST_USER_LOGIN);
     }
 
+    @Test
+    @WithMockUser("get-account-cached")
+    void testGetAccountIsRefreshedAfterSave() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin("get-account-cached");
+        user.setFirstName("john");
+        user.setEmail("get-account-cached@example.com");
+        user.setLangKey("en");
+        userService.createUser(user);
+
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("john"));
+        assertThat(userService.getAccount()).containsSame(userService.getAccount().orElseThrow());
+
+        userService.updateUser("jane", null, "get-account-cached@example.com", "en", null);
+
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("jane"));
+
+        userService.deleteUser("get-account-cached");
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_PROBLEM_JSON)).andExpect(status().isUnauthorized());
@@ -0,0 +1,86 @@
+package com.ocean.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for {@link KeysetPagination}.
+ */
+class KeysetPaginationTest {
+
+    private static final Sort LOGIN_SORT = Sort.by("login");
+
+    @Test
+    void testKeysetSort() {
+        assertThat(KeysetPagination.keysetSort(Sort.unsorted())).contains(Sort.by("id"));
+        assertThat(KeysetPagination.keysetSort(LOGIN_SORT)).contains(LOGIN_SORT);
+        assertThat(KeysetPagination.keysetSort(Sort.by("lastName"))).isEmpty();
+    }
+
+    @Test
+    void testEmptyCursorIsFirstPage() {
+        assertThat(KeysetPagination.decodeCursor("", LOGIN_SORT)).contains(ScrollPosition.keyset());
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        String cursor = KeysetPagination.encodeCursor(ScrollPosition.forward(Map.of("login", "user-1", "id", 42L)));
+
+        assertThat(KeysetPagination.decodeCursor(cursor, LOGIN_SORT))
+            .get()
+            .isInstanceOfSatisfying(KeysetScrollPosition.class, position ->
+                assertThat(position.getKeys()).containsEntry("login", "user-1").containsEntry("id", 42L)
+            );
+    }
+
+    @Test
+    void testInvalidCursors() {
+        String cursor = KeysetPagination.encodeCursor(ScrollPosition.forward(Map.of("login", "user-1", "id", 42L)));
+
+        assertThat(KeysetPagination.decodeCursor(cursor, Sort.by("activated"))).isEmpty();
+        assertThat(KeysetPagination.decodeCursor("not a cursor", LOGIN_SORT)).isEmpty();
+        assertThat(KeysetPagination.decodeCursor("e30", LOGIN_SORT)).isEmpty();
+        String wrongType = KeysetPagination.encodeCursor(ScrollPosition.forward(Map.of("login", "user-1", "id", "forty-two")));
+        assertThat(KeysetPagination.decodeCursor(wrongType, LOGIN_SORT)).isEmpty();
+    }
+
+    @Test
+    void testNextLinkHeader() {
+        Window<String> window = Window.from(
+            List.of("a", "b"),
+            index -> ScrollPosition.forward(Map.of("login", List.of("a", "b").get(index), "id", (long) index)),
+            true
+        );
+
+        HttpHeaders headers = KeysetPagination.generateNextLinkHeader(
+            UriComponentsBuilder.fromUriString("http://localhost/api/users?cursor=&size=2&sort=login,asc"),
+            window
+        );
+
+        String expectedCursor = KeysetPagination.encodeCursor(ScrollPosition.forward(Map.of("login", "b", "id", 1L)));
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<http://localhost/api/users?size=2&sort=login,asc&cursor=" + expectedCursor + ">; rel=\"next\""
+        );
+    }
+
+    @Test
+    void testNoNextLinkOnLastPage() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        HttpHeaders headers = KeysetPagination.generateNextLinkHeader(
+            UriComponentsBuilder.fromUriString("http://localhost/api/users"),
+            window
+        );
+
+        assertThat(headers).isEmpty();
+    }
+}
@@ -1,6 +1,8 @@
 package com.ocean.store.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -18,6 +20,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -100,4 +104,46 @@ class PublicUserResourceIT {
             .andExpect(status().isBadRequest());
         restUserMockMvc.perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
     }
+
+    @Test
+    @Transactional
+    void getAllPublicUsersByCursor() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+
+        String link = restUserMockMvc
+            .perform(get("/api/users?cursor=&size=1&sort=login,asc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        String firstLogin = userRepository
+            .findAll(Sort.by("login"))
+            .stream()
+            .filter(User::isActivated)
+            .findFirst()
+            .orElseThrow()
+            .getLogin();
+        String nextPage = link.substring(link.indexOf("/api/users"), link.indexOf('>'));
+
+        restUserMockMvc
+            .perform(get(nextPage).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].login").value(not(firstLogin)));
+    }
+
+    @Test
+    @Transactional
+    void getAllPublicUsersByCursorWithInvalidParameters() throws Exception {
+        restUserMockMvc
+            .perform(get("/api/users?cursor=&sort=lastName,asc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        restUserMockMvc
+            .perform(get("/api/users?cursor=invalid&sort=id,asc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -1,12 +1,14 @@
 package com.ocean.store.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ocean.store.IntegrationTest;
+import com.ocean.store.domain.Authority;
 import com.ocean.store.domain.User;
 import com.ocean.store.repository.UserRepository;
 import com.ocean.store.security.AuthoritiesConstants;
@@ -14,8 +16,11 @@ import com.ocean.store.service.UserService;
 import com.ocean.store.service.dto.AdminUserDTO;
 import com.ocean.store.service.mapper.UserMapper;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,9 +29,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -75,6 +83,9 @@ class UserResourceIT {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -267,6 +278,156 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    void exportUsersAsNdjson() throws Exception {
+        MvcResult result = restUserMockMvc.perform(get("/api/admin/users-export")).andExpect(request().asyncStarted()).andReturn();
+
+        String export = restUserMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<String> lines = export.lines().toList();
+        assertThat(lines).hasSize(numberOfUsers.intValue());
+        AdminUserDTO admin = om.readValue(lines.get(0), AdminUserDTO.class);
+        assertThat(admin.getLogin()).isEqualTo("admin");
+        assertThat(admin.getAuthorities()).containsExactlyInAnyOrder(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(export).doesNotContain("password");
+    }
+
+    @Test
+    void exportUsersAsGzippedCsv() throws Exception {
+        MvcResult result = restUserMockMvc
+            .perform(get("/api/admin/users-export?format=csv&gzip=true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] export = restUserMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(export))) {
+            List<String> lines = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(numberOfUsers.intValue() + 1);
+            assertThat(lines.get(0)).startsWith("id,login,").endsWith(",authorities");
+            assertThat(lines.get(1)).startsWith("1,admin,").endsWith("," + AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER);
+        }
+    }
+
+    @Test
+    void exportUsersAsCsvWithFormulasAsText() throws Exception {
+        user.setFirstName("=HYPERLINK(\"http://example.com\")");
+        user.setLastName("@SUM(A1)");
+        userRepository.saveAndFlush(user);
+        MvcResult result = restUserMockMvc
+            .perform(get("/api/admin/users-export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String export = restUserMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(export.lines().filter(line -> line.contains("," + DEFAULT_LOGIN + ",")))
+            .singleElement()
+            .asString()
+            .contains(",\"'=HYPERLINK(\"\"http://example.com\"\")\",'@SUM(A1),");
+    }
+
+    @Test
+    void importUsersExportedAsCsvWithFormulas() throws Exception {
+        user.setLogin("-" + DEFAULT_LOGIN);
+        user.setFirstName("=HYPERLINK(\"http://example.com\")");
+        user.setLastName("'@SUM(A1)");
+        user.setImageUrl("+" + DEFAULT_IMAGEURL);
+        userRepository.saveAndFlush(user);
+        MvcResult result = restUserMockMvc
+            .perform(get("/api/admin/users-export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        List<String> lines = restUserMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .lines()
+            .toList();
+        String exportedUser = lines.stream().filter(line -> line.contains(",'" + user.getLogin() + ",")).findFirst().orElseThrow();
+        userService.deleteUser(user.getLogin());
+
+        restUserMockMvc
+            .perform(post("/api/admin/users-import").contentType("text/csv").content(lines.get(0) + "\r\n" + exportedUser + "\r\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        User importedUser = userRepository.findOneByLogin(user.getLogin()).orElseThrow();
+        assertThat(importedUser.getFirstName()).isEqualTo(user.getFirstName());
+        assertThat(importedUser.getLastName()).isEqualTo(user.getLastName());
+        assertThat(importedUser.getImageUrl()).isEqualTo(user.getImageUrl());
+        assertThat(importedUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
+    }
+
+    @Test
+    void exportUsersWithUnknownFormat() throws Exception {
+        restUserMockMvc.perform(get("/api/admin/users-export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importUsersFromCsv() throws Exception {
+        String csv =
+            "login,email,lastName,activated,authorities,password\r\n" +
+            DEFAULT_LOGIN + "," + DEFAULT_EMAIL + ",\"Doe, Jr.\",false,ROLE_USER ROLE_ADMIN,secret\r\n" +
+            "admin,admin@example.com,,,,\r\n" +
+            UPDATED_LOGIN + ",not-an-email,,,,\r\n" +
+            UPDATED_LOGIN + "," + DEFAULT_EMAIL.toUpperCase() + ",,,,\r\n";
+
+        restUserMockMvc
+            .perform(post("/api/admin/users-import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.errors[*].line").value(containsInAnyOrder(3, 4, 5)))
+            .andExpect(jsonPath("$.errors[*].login").value(containsInAnyOrder("admin", UPDATED_LOGIN, UPDATED_LOGIN)));
+
+        User importedUser = userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN).orElseThrow();
+        assertThat(importedUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(importedUser.getLastName()).isEqualTo("Doe, Jr.");
+        assertThat(importedUser.isActivated()).isFalse();
+        assertThat(importedUser.getAuthorities()).extracting(Authority::getName).containsExactlyInAnyOrder(
+            AuthoritiesConstants.USER,
+            AuthoritiesConstants.ADMIN
+        );
+        assertThat(passwordEncoder.matches("secret", importedUser.getPassword())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void importUsersFromNdjson() throws Exception {
+        String ndjson = "{\"login\":\"" + UPDATED_LOGIN + "\",\"authorities\":[\"ROLE_USER\"]}\n{\"login\":\n";
+
+        restUserMockMvc
+            .perform(post("/api/admin/users-import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        User importedUser = userRepository.findOneWithAuthoritiesByLogin(UPDATED_LOGIN).orElseThrow();
+        assertThat(importedUser.isActivated()).isTrue();
+        assertThat(importedUser.getResetKey()).isNotNull();
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
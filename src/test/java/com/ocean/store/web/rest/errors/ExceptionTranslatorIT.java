@@ -34,6 +34,16 @@ class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
     }
 
+    @Test
+    void testUserLoginConstraintViolation() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/user-login-constraint-violation"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.type").value(ErrorConstants.LOGIN_ALREADY_USED_TYPE.toString()))
+            .andExpect(jsonPath("$.message").value("error.userexists"));
+    }
+
     @Test
     void testMethodArgumentNotValid() throws Exception {
         mockMvc
@@ -2,7 +2,10 @@ package com.ocean.store.web.rest.errors;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -17,6 +20,14 @@ public class ExceptionTranslatorTestController {
         throw new ConcurrencyFailureException("test concurrency failure");
     }
 
+    @GetMapping("/user-login-constraint-violation")
+    public void userLoginConstraintViolation() {
+        throw new DataIntegrityViolationException(
+            "test user login constraint violation",
+            new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"), "ux_user_login")
+        );
+    }
+
     @PostMapping("/method-argument")
     public void methodArgument(@Valid @RequestBody TestDTO testDTO) {
         // empty method